@@ -0,0 +1,18 @@
+package bg.softuni.childrenkitchen.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "archive")
+public class ArchiveConfiguration {
+    private String path = "archive";
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+}
@@ -1,6 +1,7 @@
 package bg.softuni.childrenkitchen.config;
 
 
+import bg.softuni.childrenkitchen.service.interceptor.ConditionalGetInterceptor;
 import bg.softuni.childrenkitchen.service.interceptor.StatisticInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,14 +12,17 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final StatisticInterceptor statisticInterceptor;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
 
-    public WebConfig(StatisticInterceptor statisticInterceptor) {
+    public WebConfig(StatisticInterceptor statisticInterceptor, ConditionalGetInterceptor conditionalGetInterceptor) {
         this.statisticInterceptor = statisticInterceptor;
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(statisticInterceptor).addPathPatterns("/menus");;
+        registry.addInterceptor(conditionalGetInterceptor).addPathPatterns("/menus", "/api/points", "/api/get-foods", "/api/get-menu-by-date", "/api/menus");
         WebMvcConfigurer.super.addInterceptors(registry);
     }
 }
@@ -0,0 +1,7 @@
+package bg.softuni.childrenkitchen.exception;
+
+public class DuplicateOrderException extends RuntimeException{
+    public DuplicateOrderException() {
+        super("Вече имате заявка за този ден! Нямате право да правите повече от една заявка на ден през системата!");
+    }
+}
@@ -0,0 +1,7 @@
+package bg.softuni.childrenkitchen.exception;
+
+public class HolidayOrderException extends RuntimeException{
+    public HolidayOrderException() {
+        super("Не се приемат заявки за официални празници!");
+    }
+}
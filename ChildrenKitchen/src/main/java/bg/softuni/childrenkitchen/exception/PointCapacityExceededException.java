@@ -0,0 +1,7 @@
+package bg.softuni.childrenkitchen.exception;
+
+public class PointCapacityExceededException extends RuntimeException{
+    public PointCapacityExceededException() {
+        super("Капацитетът на пункта за тази дата е изчерпан! Моля изберете друга дата или се обърнете към Детска кухня!");
+    }
+}
@@ -17,8 +17,11 @@ public class DBInitialize implements CommandLineRunner {
     private final ChildService childService;
     private final CouponService couponService;
     private final OrderService orderService;
+    private final OrderRollupService orderRollupService;
+    private final PortionForecastService portionForecastService;
+    private final PointCapacityService pointCapacityService;
 
-    public DBInitialize(RoleService roleService, AllergenService allergenService, PointService pointService, FoodService foodService, MenuService menuService, UserService userService, AllergyService allergyService, ChildService childService, CouponService couponService, OrderService orderService) {
+    public DBInitialize(RoleService roleService, AllergenService allergenService, PointService pointService, FoodService foodService, MenuService menuService, UserService userService, AllergyService allergyService, ChildService childService, CouponService couponService, OrderService orderService, OrderRollupService orderRollupService, PortionForecastService portionForecastService, PointCapacityService pointCapacityService) {
         this.roleService = roleService;
         this.allergenService = allergenService;
         this.pointService = pointService;
@@ -29,6 +32,9 @@ public class DBInitialize implements CommandLineRunner {
         this.childService = childService;
         this.couponService = couponService;
         this.orderService = orderService;
+        this.orderRollupService = orderRollupService;
+        this.portionForecastService = portionForecastService;
+        this.pointCapacityService = pointCapacityService;
     }
 
     @Override
@@ -43,6 +49,9 @@ public class DBInitialize implements CommandLineRunner {
         childService.initDB();
         couponService.initDB();
         orderService.initDB();
+        orderRollupService.initDB();
+        portionForecastService.initDB();
+        pointCapacityService.initDB();
 
     }
 }
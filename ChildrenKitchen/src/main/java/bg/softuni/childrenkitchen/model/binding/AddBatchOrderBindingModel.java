@@ -0,0 +1,52 @@
+package bg.softuni.childrenkitchen.model.binding;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public class AddBatchOrderBindingModel {
+    @NotEmpty
+    private Set<@NotNull @FutureOrPresent LocalDate> dates;
+    @NotBlank
+    private String userEmail;
+    @NotBlank
+    private String childFullName;
+    @NotBlank
+    private String servicePoint;
+
+    public Set<LocalDate> getDates() {
+        return dates;
+    }
+
+    public void setDates(Set<LocalDate> dates) {
+        this.dates = dates;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public void setUserEmail(String userEmail) {
+        this.userEmail = userEmail;
+    }
+
+    public String getChildFullName() {
+        return childFullName;
+    }
+
+    public void setChildFullName(String childFullName) {
+        this.childFullName = childFullName;
+    }
+
+    public String getServicePoint() {
+        return servicePoint;
+    }
+
+    public void setServicePoint(String servicePoint) {
+        this.servicePoint = servicePoint;
+    }
+}
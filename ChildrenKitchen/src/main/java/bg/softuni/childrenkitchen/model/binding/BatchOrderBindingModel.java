@@ -0,0 +1,32 @@
+package bg.softuni.childrenkitchen.model.binding;
+
+import bg.softuni.childrenkitchen.validation.annotation.DateVerifyCoupon;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public class BatchOrderBindingModel {
+    @NotBlank
+    private String childName;
+
+    @NotEmpty
+    private Set<@DateVerifyCoupon LocalDate> dates;
+
+    public String getChildName() {
+        return childName;
+    }
+
+    public void setChildName(String childName) {
+        this.childName = childName;
+    }
+
+    public Set<LocalDate> getDates() {
+        return dates;
+    }
+
+    public void setDates(Set<LocalDate> dates) {
+        this.dates = dates;
+    }
+}
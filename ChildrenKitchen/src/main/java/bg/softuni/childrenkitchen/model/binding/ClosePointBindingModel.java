@@ -0,0 +1,32 @@
+package bg.softuni.childrenkitchen.model.binding;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public class ClosePointBindingModel {
+    @NotBlank
+    private String servicePoint;
+    @NotEmpty
+    private Set<@NotNull @FutureOrPresent LocalDate> dates;
+
+    public String getServicePoint() {
+        return servicePoint;
+    }
+
+    public void setServicePoint(String servicePoint) {
+        this.servicePoint = servicePoint;
+    }
+
+    public Set<LocalDate> getDates() {
+        return dates;
+    }
+
+    public void setDates(Set<LocalDate> dates) {
+        this.dates = dates;
+    }
+}
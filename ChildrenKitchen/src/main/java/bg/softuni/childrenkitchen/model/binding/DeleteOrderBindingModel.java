@@ -4,6 +4,7 @@ import java.time.LocalDate;
 
 public class DeleteOrderBindingModel {
     private LocalDate deleteOrderDate;
+    private Long childId;
     private String childName;
 
     public LocalDate getDeleteOrderDate() {
@@ -14,6 +15,14 @@ public class DeleteOrderBindingModel {
         this.deleteOrderDate = deleteOrderDate;
     }
 
+    public Long getChildId() {
+        return childId;
+    }
+
+    public void setChildId(Long childId) {
+        this.childId = childId;
+    }
+
     public String getChildName() {
         return childName;
     }
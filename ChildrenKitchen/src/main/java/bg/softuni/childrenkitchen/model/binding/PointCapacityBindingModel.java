@@ -0,0 +1,27 @@
+package bg.softuni.childrenkitchen.model.binding;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+public class PointCapacityBindingModel {
+    @NotBlank
+    private String servicePoint;
+    @Positive
+    private Integer dailyCapacity;
+
+    public String getServicePoint() {
+        return servicePoint;
+    }
+
+    public void setServicePoint(String servicePoint) {
+        this.servicePoint = servicePoint;
+    }
+
+    public Integer getDailyCapacity() {
+        return dailyCapacity;
+    }
+
+    public void setDailyCapacity(Integer dailyCapacity) {
+        this.dailyCapacity = dailyCapacity;
+    }
+}
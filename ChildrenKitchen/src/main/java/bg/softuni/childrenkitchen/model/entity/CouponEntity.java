@@ -9,7 +9,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "coupons")
+@Table(name = "coupons",
+        indexes = @Index(name = "idx_coupons_owner_verified_date", columnList = "owner_id, verified-date"))
 public class CouponEntity extends BaseEntity {
     @Column(nullable = false)
     private BigDecimal price;
@@ -20,6 +21,7 @@ public class CouponEntity extends BaseEntity {
     private LocalDate verifiedDate;
 
     @ManyToOne
+    @JoinColumn(name = "owner_id")
     private ChildEntity owner;
 
     public BigDecimal getPrice() {
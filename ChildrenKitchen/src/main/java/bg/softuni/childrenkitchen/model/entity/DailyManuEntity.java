@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "menus")
+@Table(name = "menus",
+        uniqueConstraints = @UniqueConstraint(name = "uk_menus_date_age_group", columnNames = {"date", "age-group"}))
 public class DailyManuEntity extends BaseEntity {
 
     @Column(nullable = false)
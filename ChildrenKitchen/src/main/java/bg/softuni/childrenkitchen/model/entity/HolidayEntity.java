@@ -0,0 +1,33 @@
+package bg.softuni.childrenkitchen.model.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "holidays")
+public class HolidayEntity extends BaseEntity {
+    @Column(nullable = false, unique = true)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private String name;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public HolidayEntity setDate(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HolidayEntity setName(String name) {
+        this.name = name;
+        return this;
+    }
+}
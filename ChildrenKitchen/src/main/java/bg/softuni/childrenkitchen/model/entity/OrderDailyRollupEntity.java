@@ -0,0 +1,73 @@
+package bg.softuni.childrenkitchen.model.entity;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "orders_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"date", "service_point_id", "age_group"}))
+public class OrderDailyRollupEntity extends BaseEntity {
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "service_point_id")
+    private PointEntity servicePoint;
+
+    @Column(name = "age_group", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AgeGroupEnum ageGroup;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long allergic;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public OrderDailyRollupEntity setDate(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public PointEntity getServicePoint() {
+        return servicePoint;
+    }
+
+    public OrderDailyRollupEntity setServicePoint(PointEntity servicePoint) {
+        this.servicePoint = servicePoint;
+        return this;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public OrderDailyRollupEntity setAgeGroup(AgeGroupEnum ageGroup) {
+        this.ageGroup = ageGroup;
+        return this;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public OrderDailyRollupEntity setTotal(long total) {
+        this.total = total;
+        return this;
+    }
+
+    public long getAllergic() {
+        return allergic;
+    }
+
+    public OrderDailyRollupEntity setAllergic(long allergic) {
+        this.allergic = allergic;
+        return this;
+    }
+}
@@ -7,22 +7,33 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_date_point", columnList = "date, service_point_id"),
+        //the unique key also serves the (child_id, date) lookups
+        uniqueConstraints = @UniqueConstraint(name = OrderEntity.PRIMARY_ORDER_CONSTRAINT, columnNames = {"child_id", "date", "primary_order"}))
 public class OrderEntity extends BaseEntity {
+    public static final String PRIMARY_ORDER_CONSTRAINT = "uk_orders_child_date_primary";
+
     @Column(nullable = false)
     private LocalDate date;
     @ManyToOne
     private UserEntity user;
 
     @ManyToOne
+    @JoinColumn(name = "child_id")
     private ChildEntity child;
 
     @ManyToOne
     private CouponEntity coupon;
 
     @ManyToOne
+    @JoinColumn(name = "service_point_id")
     private PointEntity servicePoint;
 
+    //TRUE for the one order per day a parent may place, NULL for the extra ones added by an admin - NULLs never collide in the unique key
+    @Column(name = "primary_order")
+    private Boolean primaryOrder;
+
 
     public LocalDate getDate() {
         return date;
@@ -64,4 +75,11 @@ public class OrderEntity extends BaseEntity {
         this.servicePoint = servicePoint;
     }
 
+    public Boolean getPrimaryOrder() {
+        return primaryOrder;
+    }
+
+    public void setPrimaryOrder(Boolean primaryOrder) {
+        this.primaryOrder = primaryOrder;
+    }
 }
@@ -19,6 +19,10 @@ public class PointEntity extends BaseEntity {
     @Column(nullable = false, name = "picture_url")
     private String pictureUrl;
 
+    //portions per day the point can receive, no limit when null
+    @Column(name = "daily_capacity")
+    private Integer dailyCapacity;
+
     public String getName() {
         return name;
     }
@@ -50,4 +54,12 @@ public class PointEntity extends BaseEntity {
     public void setPictureUrl(String pictureUrl) {
         this.pictureUrl = pictureUrl;
     }
+
+    public Integer getDailyCapacity() {
+        return dailyCapacity;
+    }
+
+    public void setDailyCapacity(Integer dailyCapacity) {
+        this.dailyCapacity = dailyCapacity;
+    }
 }
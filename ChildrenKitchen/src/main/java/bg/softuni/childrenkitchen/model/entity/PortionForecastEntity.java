@@ -0,0 +1,86 @@
+package bg.softuni.childrenkitchen.model.entity;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "portion_forecasts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"service_point", "day_of_week", "age_group"}))
+public class PortionForecastEntity extends BaseEntity {
+    @Column(name = "service_point", nullable = false)
+    private String servicePoint;
+
+    @Column(name = "day_of_week", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "age_group", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AgeGroupEnum ageGroup;
+
+    @Column(name = "expected_portions", nullable = false)
+    private double expectedPortions;
+
+    @Column(nullable = false)
+    private int samples;
+
+    @Column(name = "last_date")
+    private LocalDate lastDate;
+
+    public String getServicePoint() {
+        return servicePoint;
+    }
+
+    public PortionForecastEntity setServicePoint(String servicePoint) {
+        this.servicePoint = servicePoint;
+        return this;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public PortionForecastEntity setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+        return this;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public PortionForecastEntity setAgeGroup(AgeGroupEnum ageGroup) {
+        this.ageGroup = ageGroup;
+        return this;
+    }
+
+    public double getExpectedPortions() {
+        return expectedPortions;
+    }
+
+    public PortionForecastEntity setExpectedPortions(double expectedPortions) {
+        this.expectedPortions = expectedPortions;
+        return this;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public PortionForecastEntity setSamples(int samples) {
+        this.samples = samples;
+        return this;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public PortionForecastEntity setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+        return this;
+    }
+}
@@ -0,0 +1,9 @@
+package bg.softuni.childrenkitchen.model.event;
+
+import org.springframework.context.ApplicationEvent;
+
+public class ForecastChangedEvent extends ApplicationEvent {
+    public ForecastChangedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,22 @@
+package bg.softuni.childrenkitchen.model.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDate;
+
+public class HolidayChangedEvent extends ApplicationEvent {
+    private LocalDate date;
+
+    public HolidayChangedEvent(Object source) {
+        super(source);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public HolidayChangedEvent setDate(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+}
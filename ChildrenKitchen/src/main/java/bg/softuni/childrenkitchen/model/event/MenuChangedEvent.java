@@ -0,0 +1,33 @@
+package bg.softuni.childrenkitchen.model.event;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDate;
+
+public class MenuChangedEvent extends ApplicationEvent {
+    private LocalDate date;
+    private AgeGroupEnum ageGroup;
+
+    public MenuChangedEvent(Object source) {
+        super(source);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public MenuChangedEvent setDate(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public MenuChangedEvent setAgeGroup(AgeGroupEnum ageGroup) {
+        this.ageGroup = ageGroup;
+        return this;
+    }
+}
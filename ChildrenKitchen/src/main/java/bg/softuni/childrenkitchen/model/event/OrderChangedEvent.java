@@ -0,0 +1,73 @@
+package bg.softuni.childrenkitchen.model.event;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDate;
+
+public abstract class OrderChangedEvent extends ApplicationEvent {
+    private LocalDate date;
+    private Long childId;
+    private Long servicePointId;
+    private String servicePointName;
+    private AgeGroupEnum ageGroup;
+    private boolean allergic;
+
+    protected OrderChangedEvent(Object source) {
+        super(source);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public OrderChangedEvent setDate(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public Long getChildId() {
+        return childId;
+    }
+
+    public OrderChangedEvent setChildId(Long childId) {
+        this.childId = childId;
+        return this;
+    }
+
+    public Long getServicePointId() {
+        return servicePointId;
+    }
+
+    public OrderChangedEvent setServicePointId(Long servicePointId) {
+        this.servicePointId = servicePointId;
+        return this;
+    }
+
+    public String getServicePointName() {
+        return servicePointName;
+    }
+
+    public OrderChangedEvent setServicePointName(String servicePointName) {
+        this.servicePointName = servicePointName;
+        return this;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public OrderChangedEvent setAgeGroup(AgeGroupEnum ageGroup) {
+        this.ageGroup = ageGroup;
+        return this;
+    }
+
+    public boolean isAllergic() {
+        return allergic;
+    }
+
+    public OrderChangedEvent setAllergic(boolean allergic) {
+        this.allergic = allergic;
+        return this;
+    }
+}
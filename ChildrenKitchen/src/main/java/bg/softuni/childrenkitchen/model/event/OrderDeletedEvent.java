@@ -0,0 +1,8 @@
+package bg.softuni.childrenkitchen.model.event;
+
+public class OrderDeletedEvent extends OrderChangedEvent {
+
+    public OrderDeletedEvent(Object source) {
+        super(source);
+    }
+}
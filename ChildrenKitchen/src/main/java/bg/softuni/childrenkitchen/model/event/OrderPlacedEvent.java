@@ -0,0 +1,8 @@
+package bg.softuni.childrenkitchen.model.event;
+
+public class OrderPlacedEvent extends OrderChangedEvent {
+
+    public OrderPlacedEvent(Object source) {
+        super(source);
+    }
+}
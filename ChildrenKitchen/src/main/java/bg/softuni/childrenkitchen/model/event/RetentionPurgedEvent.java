@@ -0,0 +1,22 @@
+package bg.softuni.childrenkitchen.model.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDate;
+
+public class RetentionPurgedEvent extends ApplicationEvent {
+    private LocalDate before;
+
+    public RetentionPurgedEvent(Object source) {
+        super(source);
+    }
+
+    public LocalDate getBefore() {
+        return before;
+    }
+
+    public RetentionPurgedEvent setBefore(LocalDate before) {
+        this.before = before;
+        return this;
+    }
+}
@@ -0,0 +1,41 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.time.LocalDate;
+
+public class ActiveOrderRow {
+    private final LocalDate date;
+    private final String childFullName;
+    private final String servicePointName;
+    private final AgeGroupEnum ageGroup;
+    private final int remainingCoupons;
+
+    public ActiveOrderRow(LocalDate date, String childFullName, String servicePointName, AgeGroupEnum ageGroup, Long remainingCoupons) {
+        this.date = date;
+        this.childFullName = childFullName;
+        this.servicePointName = servicePointName;
+        this.ageGroup = ageGroup;
+        this.remainingCoupons = remainingCoupons == null ? 0 : remainingCoupons.intValue();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getChildFullName() {
+        return childFullName;
+    }
+
+    public String getServicePointName() {
+        return servicePointName;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public int getRemainingCoupons() {
+        return remainingCoupons;
+    }
+}
@@ -0,0 +1,48 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ArchivedCoupon {
+    private final Long id;
+    private final Long ownerId;
+    private final String ownerFullName;
+    private final AgeGroupEnum ageGroup;
+    private final BigDecimal price;
+    private final LocalDate verifiedDate;
+
+    public ArchivedCoupon(Long id, Long ownerId, String ownerFullName, AgeGroupEnum ageGroup, BigDecimal price, LocalDate verifiedDate) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.ownerFullName = ownerFullName;
+        this.ageGroup = ageGroup;
+        this.price = price;
+        this.verifiedDate = verifiedDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public String getOwnerFullName() {
+        return ownerFullName;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public LocalDate getVerifiedDate() {
+        return verifiedDate;
+    }
+}
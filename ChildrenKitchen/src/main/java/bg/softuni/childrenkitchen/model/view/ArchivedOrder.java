@@ -0,0 +1,59 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.time.LocalDate;
+
+public class ArchivedOrder {
+    private final Long id;
+    private final LocalDate date;
+    private final Long childId;
+    private final String childFullName;
+    private final String userEmail;
+    private final String servicePointName;
+    private final AgeGroupEnum ageGroup;
+    private final Long couponId;
+
+    public ArchivedOrder(Long id, LocalDate date, Long childId, String childFullName, String userEmail, String servicePointName, AgeGroupEnum ageGroup, Long couponId) {
+        this.id = id;
+        this.date = date;
+        this.childId = childId;
+        this.childFullName = childFullName;
+        this.userEmail = userEmail;
+        this.servicePointName = servicePointName;
+        this.ageGroup = ageGroup;
+        this.couponId = couponId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getChildId() {
+        return childId;
+    }
+
+    public String getChildFullName() {
+        return childFullName;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public String getServicePointName() {
+        return servicePointName;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public Long getCouponId() {
+        return couponId;
+    }
+}
@@ -0,0 +1,35 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.time.LocalDate;
+
+public class ClosedOrderRow {
+    private final Long childId;
+    private final LocalDate date;
+    private final AgeGroupEnum ageGroup;
+    private final boolean allergic;
+
+    public ClosedOrderRow(Long childId, LocalDate date, AgeGroupEnum ageGroup, Long allergies) {
+        this.childId = childId;
+        this.date = date;
+        this.ageGroup = ageGroup;
+        this.allergic = allergies != null && allergies > 0;
+    }
+
+    public Long getChildId() {
+        return childId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public boolean isAllergic() {
+        return allergic;
+    }
+}
@@ -0,0 +1,59 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.time.LocalDate;
+
+public class DeletedOrderRow {
+    private final Long orderId;
+    private final Long couponId;
+    private final Long childId;
+    private final LocalDate date;
+    private final Long servicePointId;
+    private final String servicePointName;
+    private final AgeGroupEnum ageGroup;
+    private final boolean allergic;
+
+    public DeletedOrderRow(Long orderId, Long couponId, Long childId, LocalDate date, Long servicePointId, String servicePointName, AgeGroupEnum ageGroup, Long allergies) {
+        this.orderId = orderId;
+        this.couponId = couponId;
+        this.childId = childId;
+        this.date = date;
+        this.servicePointId = servicePointId;
+        this.servicePointName = servicePointName;
+        this.ageGroup = ageGroup;
+        this.allergic = allergies != null && allergies > 0;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getCouponId() {
+        return couponId;
+    }
+
+    public Long getChildId() {
+        return childId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getServicePointId() {
+        return servicePointId;
+    }
+
+    public String getServicePointName() {
+        return servicePointName;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public boolean isAllergic() {
+        return allergic;
+    }
+}
@@ -0,0 +1,53 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DishPortionsViewModel {
+    private String categoryName;
+    private String name;
+    private Map<String, Long> portionsByPoint = new LinkedHashMap<>();
+    private long totalPortions;
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public DishPortionsViewModel setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DishPortionsViewModel setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Map<String, Long> getPortionsByPoint() {
+        return portionsByPoint;
+    }
+
+    public DishPortionsViewModel setPortionsByPoint(Map<String, Long> portionsByPoint) {
+        this.portionsByPoint = portionsByPoint;
+        return this;
+    }
+
+    public long getTotalPortions() {
+        return totalPortions;
+    }
+
+    public DishPortionsViewModel setTotalPortions(long totalPortions) {
+        this.totalPortions = totalPortions;
+        return this;
+    }
+
+    public DishPortionsViewModel addPortions(String point, long portions) {
+        portionsByPoint.merge(point, portions, Long::sum);
+        totalPortions += portions;
+        return this;
+    }
+}
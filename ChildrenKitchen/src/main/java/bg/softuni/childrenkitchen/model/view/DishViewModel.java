@@ -0,0 +1,32 @@
+package bg.softuni.childrenkitchen.model.view;
+
+//one dish of a menu snapshot, the allergens are joined once when the menu is saved
+public class DishViewModel {
+    private final String name;
+    private final String ageGroupName;
+    private final String categoryName;
+    private final String allergens;
+
+    public DishViewModel(String name, String ageGroupName, String categoryName, String allergens) {
+        this.name = name;
+        this.ageGroupName = ageGroupName;
+        this.categoryName = categoryName;
+        this.allergens = allergens;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAgeGroupName() {
+        return ageGroupName;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getAllergens() {
+        return allergens;
+    }
+}
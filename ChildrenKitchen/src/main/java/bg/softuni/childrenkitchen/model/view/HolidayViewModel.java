@@ -0,0 +1,26 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import java.time.LocalDate;
+
+public class HolidayViewModel {
+    private LocalDate date;
+    private String name;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public HolidayViewModel setDate(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HolidayViewModel setName(String name) {
+        this.name = name;
+        return this;
+    }
+}
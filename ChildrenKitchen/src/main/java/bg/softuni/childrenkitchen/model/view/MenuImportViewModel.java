@@ -0,0 +1,26 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import java.util.List;
+
+public class MenuImportViewModel {
+    private int imported;
+    private List<String> errors;
+
+    public int getImported() {
+        return imported;
+    }
+
+    public MenuImportViewModel setImported(int imported) {
+        this.imported = imported;
+        return this;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public MenuImportViewModel setErrors(List<String> errors) {
+        this.errors = errors;
+        return this;
+    }
+}
@@ -2,24 +2,31 @@ package bg.softuni.childrenkitchen.model.view;
 
 import java.time.LocalDate;
 
+//built once when the menu is saved or edited and shared between requests, so it has no setters
 public class MenuViewModel {
-    private String date;
-    private LocalDate localDate;
-    private String dayOfWeek;
-    private String ageGroupName;
+    private final String date;
+    private final LocalDate localDate;
+    private final String dayOfWeek;
+    private final String ageGroupName;
 
-    private FoodViewModel soup;
+    private final DishViewModel soup;
 
-    private FoodViewModel main;
+    private final DishViewModel main;
 
-    private FoodViewModel dessert;
+    private final DishViewModel dessert;
 
-    public String getDate() {
-        return date;
+    public MenuViewModel(LocalDate localDate, String date, String dayOfWeek, String ageGroupName, DishViewModel soup, DishViewModel main, DishViewModel dessert) {
+        this.localDate = localDate;
+        this.date = date;
+        this.dayOfWeek = dayOfWeek;
+        this.ageGroupName = ageGroupName;
+        this.soup = soup;
+        this.main = main;
+        this.dessert = dessert;
     }
 
-    public void setDate(String date) {
-        this.date = date;
+    public String getDate() {
+        return date;
     }
 
     public String getAgeGroupName() {
@@ -30,43 +37,19 @@ public class MenuViewModel {
         return dayOfWeek;
     }
 
-    public void setDayOfWeek(String dayOfWeek) {
-        this.dayOfWeek = dayOfWeek;
-    }
-
-    public void setAgeGroupName(String ageGroupName) {
-        this.ageGroupName = ageGroupName;
-    }
-
-    public FoodViewModel getSoup() {
+    public DishViewModel getSoup() {
         return soup;
     }
 
-    public void setSoup(FoodViewModel soup) {
-        this.soup = soup;
-    }
-
-    public FoodViewModel getMain() {
+    public DishViewModel getMain() {
         return main;
     }
 
-    public void setMain(FoodViewModel main) {
-        this.main = main;
-    }
-
-    public FoodViewModel getDessert() {
+    public DishViewModel getDessert() {
         return dessert;
     }
 
-    public void setDessert(FoodViewModel dessert) {
-        this.dessert = dessert;
-    }
-
     public LocalDate getLocalDate() {
         return localDate;
     }
-
-    public void setLocalDate(LocalDate localDate) {
-        this.localDate = localDate;
-    }
 }
@@ -0,0 +1,47 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import java.time.YearMonth;
+
+//bit (day - 1) of orderedDays is set when the child has an order for that day of the month
+public class OrderCalendarViewModel {
+    private Long childId;
+    private YearMonth month;
+    private int daysInMonth;
+    private int orderedDays;
+
+    public Long getChildId() {
+        return childId;
+    }
+
+    public OrderCalendarViewModel setChildId(Long childId) {
+        this.childId = childId;
+        return this;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public OrderCalendarViewModel setMonth(YearMonth month) {
+        this.month = month;
+        return this;
+    }
+
+    public int getDaysInMonth() {
+        return daysInMonth;
+    }
+
+    public OrderCalendarViewModel setDaysInMonth(int daysInMonth) {
+        this.daysInMonth = daysInMonth;
+        return this;
+    }
+
+    public int getOrderedDays() {
+        return orderedDays;
+    }
+
+    public OrderCalendarViewModel setOrderedDays(int orderedDays) {
+        this.orderedDays = orderedDays;
+        return this;
+    }
+}
@@ -0,0 +1,47 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.time.LocalDate;
+
+public class OrderExportRow {
+    private final LocalDate date;
+    private final String servicePoint;
+    private final String childFullName;
+    private final AgeGroupEnum ageGroup;
+    private final String userEmail;
+    private final boolean allergic;
+
+    public OrderExportRow(LocalDate date, String servicePoint, String childFullName, AgeGroupEnum ageGroup, String userEmail, Boolean allergic) {
+        this.date = date;
+        this.servicePoint = servicePoint;
+        this.childFullName = childFullName;
+        this.ageGroup = ageGroup;
+        this.userEmail = userEmail;
+        this.allergic = Boolean.TRUE.equals(allergic);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getServicePoint() {
+        return servicePoint;
+    }
+
+    public String getChildFullName() {
+        return childFullName;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public boolean isAllergic() {
+        return allergic;
+    }
+}
@@ -0,0 +1,33 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+public class OrderReferenceCount {
+    private final String point;
+    private final AgeGroupEnum ageGroup;
+    private final long totalCount;
+    private final long allergicCount;
+
+    public OrderReferenceCount(String point, AgeGroupEnum ageGroup, Long totalCount, Long allergicCount) {
+        this.point = point;
+        this.ageGroup = ageGroup;
+        this.totalCount = totalCount == null ? 0 : totalCount;
+        this.allergicCount = allergicCount == null ? 0 : allergicCount;
+    }
+
+    public String getPoint() {
+        return point;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getAllergicCount() {
+        return allergicCount;
+    }
+}
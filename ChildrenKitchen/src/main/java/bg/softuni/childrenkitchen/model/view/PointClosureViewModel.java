@@ -0,0 +1,58 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PointClosureViewModel {
+    private String servicePointName;
+    private List<LocalDate> dates = new ArrayList<>();
+    private int cancelledOrders;
+    private int releasedCoupons;
+    private int affectedChildren;
+
+    public String getServicePointName() {
+        return servicePointName;
+    }
+
+    public PointClosureViewModel setServicePointName(String servicePointName) {
+        this.servicePointName = servicePointName;
+        return this;
+    }
+
+    public List<LocalDate> getDates() {
+        return dates;
+    }
+
+    public PointClosureViewModel setDates(List<LocalDate> dates) {
+        this.dates = dates;
+        return this;
+    }
+
+    public int getCancelledOrders() {
+        return cancelledOrders;
+    }
+
+    public PointClosureViewModel setCancelledOrders(int cancelledOrders) {
+        this.cancelledOrders = cancelledOrders;
+        return this;
+    }
+
+    public int getReleasedCoupons() {
+        return releasedCoupons;
+    }
+
+    public PointClosureViewModel setReleasedCoupons(int releasedCoupons) {
+        this.releasedCoupons = releasedCoupons;
+        return this;
+    }
+
+    public int getAffectedChildren() {
+        return affectedChildren;
+    }
+
+    public PointClosureViewModel setAffectedChildren(int affectedChildren) {
+        this.affectedChildren = affectedChildren;
+        return this;
+    }
+}
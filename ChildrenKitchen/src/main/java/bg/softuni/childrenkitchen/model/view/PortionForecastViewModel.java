@@ -0,0 +1,34 @@
+package bg.softuni.childrenkitchen.model.view;
+
+public class PortionForecastViewModel {
+    private String servicePoint;
+    private long orderedPortions;
+    private long predictedPortions;
+
+    public String getServicePoint() {
+        return servicePoint;
+    }
+
+    public PortionForecastViewModel setServicePoint(String servicePoint) {
+        this.servicePoint = servicePoint;
+        return this;
+    }
+
+    public long getOrderedPortions() {
+        return orderedPortions;
+    }
+
+    public PortionForecastViewModel setOrderedPortions(long orderedPortions) {
+        this.orderedPortions = orderedPortions;
+        return this;
+    }
+
+    public long getPredictedPortions() {
+        return predictedPortions;
+    }
+
+    public PortionForecastViewModel setPredictedPortions(long predictedPortions) {
+        this.predictedPortions = predictedPortions;
+        return this;
+    }
+}
@@ -0,0 +1,53 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.time.LocalDate;
+
+public class ProductionSheetRow {
+    private final LocalDate date;
+    private final String servicePoint;
+    private final AgeGroupEnum ageGroup;
+    private final String soup;
+    private final String main;
+    private final String dessert;
+    private final long portions;
+
+    public ProductionSheetRow(LocalDate date, String servicePoint, AgeGroupEnum ageGroup, String soup, String main, String dessert, Long portions) {
+        this.date = date;
+        this.servicePoint = servicePoint;
+        this.ageGroup = ageGroup;
+        this.soup = soup;
+        this.main = main;
+        this.dessert = dessert;
+        this.portions = portions == null ? 0 : portions;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getServicePoint() {
+        return servicePoint;
+    }
+
+    public AgeGroupEnum getAgeGroup() {
+        return ageGroup;
+    }
+
+    public String getSoup() {
+        return soup;
+    }
+
+    public String getMain() {
+        return main;
+    }
+
+    public String getDessert() {
+        return dessert;
+    }
+
+    public long getPortions() {
+        return portions;
+    }
+}
@@ -0,0 +1,58 @@
+package bg.softuni.childrenkitchen.model.view;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductionSheetViewModel {
+    private LocalDate date;
+    private boolean closedForOrders;
+    private List<String> points = new ArrayList<>();
+    private List<DishPortionsViewModel> dishes = new ArrayList<>();
+    private List<PortionForecastViewModel> forecasts = new ArrayList<>();
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public ProductionSheetViewModel setDate(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public boolean isClosedForOrders() {
+        return closedForOrders;
+    }
+
+    public ProductionSheetViewModel setClosedForOrders(boolean closedForOrders) {
+        this.closedForOrders = closedForOrders;
+        return this;
+    }
+
+    public List<String> getPoints() {
+        return points;
+    }
+
+    public ProductionSheetViewModel setPoints(List<String> points) {
+        this.points = points;
+        return this;
+    }
+
+    public List<DishPortionsViewModel> getDishes() {
+        return dishes;
+    }
+
+    public ProductionSheetViewModel setDishes(List<DishPortionsViewModel> dishes) {
+        this.dishes = dishes;
+        return this;
+    }
+
+    public List<PortionForecastViewModel> getForecasts() {
+        return forecasts;
+    }
+
+    public ProductionSheetViewModel setForecasts(List<PortionForecastViewModel> forecasts) {
+        this.forecasts = forecasts;
+        return this;
+    }
+}
@@ -0,0 +1,49 @@
+package bg.softuni.childrenkitchen.model.view;
+
+public class ReferenceCacheStatsViewModel {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+
+    public long getHits() {
+        return hits;
+    }
+
+    public ReferenceCacheStatsViewModel setHits(long hits) {
+        this.hits = hits;
+        return this;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public ReferenceCacheStatsViewModel setMisses(long misses) {
+        this.misses = misses;
+        return this;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public ReferenceCacheStatsViewModel setEvictions(long evictions) {
+        this.evictions = evictions;
+        return this;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public ReferenceCacheStatsViewModel setSize(int size) {
+        this.size = size;
+        return this;
+    }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,36 @@
+package bg.softuni.childrenkitchen.model.view;
+
+public class RetentionChunkReport {
+    private final String tableName;
+    private final int chunk;
+    private final int removedRows;
+    private final long elapsedMillis;
+
+    public RetentionChunkReport(String tableName, int chunk, int removedRows, long elapsedMillis) {
+        this.tableName = tableName;
+        this.chunk = chunk;
+        this.removedRows = removedRows;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getChunk() {
+        return chunk;
+    }
+
+    public int getRemovedRows() {
+        return removedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s chunk %d: %d rows removed in %d ms", tableName, chunk, removedRows, elapsedMillis);
+    }
+}
@@ -1,11 +1,13 @@
 package bg.softuni.childrenkitchen.model.view;
 
+import java.util.Map;
 import java.util.Set;
 
 public class UserAndChildViewModel {
     private String userEmail;
     private String userNames;
     private Set<String> childrenNames;
+    private Map<Long, String> childrenByIds;
 
     private String servicePointName;
     private String phoneNumber;
@@ -36,6 +38,14 @@ public class UserAndChildViewModel {
         this.childrenNames = childrenNames;
     }
 
+    public Map<Long, String> getChildrenByIds() {
+        return childrenByIds;
+    }
+
+    public void setChildrenByIds(Map<Long, String> childrenByIds) {
+        this.childrenByIds = childrenByIds;
+    }
+
     public String getServicePointName() {
         return servicePointName;
     }
@@ -0,0 +1,9 @@
+package bg.softuni.childrenkitchen.repository;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface CouponClaimRepository {
+    //one conditional update for all coupons, a coupon already claimed by a concurrent order is left out of the count
+    int claimCoupons(Map<Long, LocalDate> datesByCouponId);
+}
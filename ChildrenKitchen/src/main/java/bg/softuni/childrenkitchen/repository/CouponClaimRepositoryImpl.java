@@ -0,0 +1,37 @@
+package bg.softuni.childrenkitchen.repository;
+
+import bg.softuni.childrenkitchen.model.entity.CouponEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class CouponClaimRepositoryImpl implements CouponClaimRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int claimCoupons(Map<Long, LocalDate> datesByCouponId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<CouponEntity> update = cb.createCriteriaUpdate(CouponEntity.class);
+        Root<CouponEntity> coupon = update.from(CouponEntity.class);
+
+        Path<Long> id = coupon.get("id");
+        Path<LocalDate> verifiedDate = coupon.get("verifiedDate");
+
+        //every coupon gets its own date: SET verified_date = CASE id WHEN ... END
+        CriteriaBuilder.SimpleCase<Long, LocalDate> dateOfCoupon = cb.selectCase(id);
+        datesByCouponId.forEach((couponId, date) -> dateOfCoupon.when(couponId, date));
+
+        update.set(verifiedDate, dateOfCoupon.otherwise(verifiedDate))
+              .where(id.in(datesByCouponId.keySet()), cb.isNull(verifiedDate));
+
+        return entityManager.createQuery(update)
+                            .executeUpdate();
+    }
+}
@@ -1,14 +1,55 @@
 package bg.softuni.childrenkitchen.repository;
 
 import bg.softuni.childrenkitchen.model.entity.CouponEntity;
+import bg.softuni.childrenkitchen.model.view.ArchivedCoupon;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CouponRepository extends JpaRepository<CouponEntity, Long> {
+public interface CouponRepository extends JpaRepository<CouponEntity, Long>, CouponClaimRepository {
     void deleteAllByOwnerId(Long ownerId);
+
+    //locking reads, on mysql a claim that waited on a concurrent one sees the committed rows and takes the next free coupons
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CouponEntity> findFirstByOwnerFullNameAndOwnerParentEmailAndVerifiedDateIsNullOrderByIdAsc(String childName, String userEmail);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CouponEntity c WHERE c.owner.id = :ownerId AND c.verifiedDate IS NULL ORDER BY c.id")
+    List<CouponEntity> findFreeCoupons(Long ownerId, Pageable pageable);
+
+    int countByOwnerIdAndVerifiedDateIsNull(Long ownerId);
+
+    @Modifying
+    @Query("UPDATE CouponEntity c SET c.verifiedDate = NULL WHERE c.id = :couponId")
+    int releaseCoupon(Long couponId);
+
+    @Modifying
+    @Query("UPDATE CouponEntity c SET c.verifiedDate = NULL WHERE c.id IN " +
+            "(SELECT o.coupon.id FROM OrderEntity o WHERE o.servicePoint.id = :pointId AND o.date IN :dates)")
+    int releaseAllByServicePointIdAndDateIn(Long pointId, Collection<LocalDate> dates);
+
+    //coupons still referenced by an order are left for a later run
+    @Query("SELECT c.id FROM CouponEntity c WHERE c.verifiedDate < :date AND c.id > :afterId " +
+            "AND NOT EXISTS (SELECT o.id FROM OrderEntity o WHERE o.coupon = c) ORDER BY c.id")
+    List<Long> findIdsByVerifiedDateBefore(LocalDate date, Long afterId, Pageable pageable);
+
+    @Query("SELECT new bg.softuni.childrenkitchen.model.view.ArchivedCoupon(c.id, o.id, o.fullName, c.ageGroup, c.price, c.verifiedDate) " +
+            "FROM CouponEntity c LEFT JOIN c.owner o WHERE c.id IN :ids ORDER BY c.id")
+    List<ArchivedCoupon> findArchivedCoupons(Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CouponEntity c WHERE c.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
 }
@@ -4,6 +4,7 @@ import bg.softuni.childrenkitchen.model.entity.FoodEntity;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
 import bg.softuni.childrenkitchen.model.entity.enums.FoodCategoryEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -18,5 +19,8 @@ public interface FoodRepository extends JpaRepository<FoodEntity, Long> {
 
     boolean existsByName(String foodName);
 
+    @Query("SELECT DISTINCT f FROM FoodEntity f LEFT JOIN FETCH f.allergens WHERE f.name IN :names")
+    List<FoodEntity> findAllWithAllergensByNameIn(Collection<String> names);
+
     List<FoodEntity> findAllByCategory(FoodCategoryEnum foodCategoryEnum);
 }
@@ -0,0 +1,18 @@
+package bg.softuni.childrenkitchen.repository;
+
+import bg.softuni.childrenkitchen.model.entity.HolidayEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<HolidayEntity, Long> {
+    List<HolidayEntity> findAllByDateBetweenOrderByDate(LocalDate from, LocalDate to);
+
+    Optional<HolidayEntity> findByDate(LocalDate date);
+
+    boolean existsByDate(LocalDate date);
+}
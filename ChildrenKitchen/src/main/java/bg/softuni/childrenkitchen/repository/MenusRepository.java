@@ -2,18 +2,53 @@ package bg.softuni.childrenkitchen.repository;
 
 import bg.softuni.childrenkitchen.model.entity.DailyManuEntity;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MenusRepository extends JpaRepository<DailyManuEntity, Long> {
-    List<DailyManuEntity> findByDateBetween(LocalDate monday, LocalDate friday);
-
     Optional<DailyManuEntity> findByDateAndAgeGroup(LocalDate date, AgeGroupEnum ageGroup);
 
+    @Query("SELECT DISTINCT m FROM DailyManuEntity m " +
+            "JOIN FETCH m.soup s LEFT JOIN FETCH s.allergens " +
+            "JOIN FETCH m.main mn LEFT JOIN FETCH mn.allergens " +
+            "JOIN FETCH m.dessert d LEFT JOIN FETCH d.allergens " +
+            "WHERE m.date IN :dates AND m.ageGroup = :ageGroup")
+    List<DailyManuEntity> findAllByDateInAndAgeGroup(Collection<LocalDate> dates, AgeGroupEnum ageGroup);
+
+    @Query("SELECT DISTINCT m FROM DailyManuEntity m " +
+            "JOIN FETCH m.soup s LEFT JOIN FETCH s.allergens " +
+            "JOIN FETCH m.main mn LEFT JOIN FETCH mn.allergens " +
+            "JOIN FETCH m.dessert d LEFT JOIN FETCH d.allergens " +
+            "WHERE m.date BETWEEN :from AND :to")
+    List<DailyManuEntity> findAllWithFoodsByDateBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT DISTINCT m FROM DailyManuEntity m " +
+            "JOIN FETCH m.soup s LEFT JOIN FETCH s.allergens " +
+            "JOIN FETCH m.main mn LEFT JOIN FETCH mn.allergens " +
+            "JOIN FETCH m.dessert d LEFT JOIN FETCH d.allergens " +
+            "WHERE m.date BETWEEN :from AND :to AND m.ageGroup = :ageGroup")
+    List<DailyManuEntity> findAllWithFoodsByDateBetweenAndAgeGroup(LocalDate from, LocalDate to, AgeGroupEnum ageGroup);
+
+    @Query("SELECT m.id FROM DailyManuEntity m WHERE m.date < :date AND m.id > :afterId ORDER BY m.id")
+    List<Long> findIdsByDateBefore(LocalDate date, Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DailyManuEntity m WHERE m.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
     boolean existsByDateAndAgeGroup(LocalDate date, AgeGroupEnum ageGroup);
+
+    @Query("SELECT m.date FROM DailyManuEntity m WHERE m.ageGroup = :ageGroup AND m.date IN :dates")
+    List<LocalDate> findDatesByAgeGroupAndDateIn(AgeGroupEnum ageGroup, Collection<LocalDate> dates);
 }
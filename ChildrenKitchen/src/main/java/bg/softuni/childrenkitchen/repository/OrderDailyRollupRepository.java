@@ -0,0 +1,73 @@
+package bg.softuni.childrenkitchen.repository;
+
+import bg.softuni.childrenkitchen.model.entity.OrderDailyRollupEntity;
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergyEnum;
+import bg.softuni.childrenkitchen.model.view.OrderReferenceCount;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderDailyRollupRepository extends JpaRepository<OrderDailyRollupEntity, Long> {
+
+    String REFERENCE_COUNT = "SELECT new bg.softuni.childrenkitchen.model.view.OrderReferenceCount(p.name, r.ageGroup, SUM(r.total), SUM(r.allergic)) " +
+            "FROM OrderDailyRollupEntity r JOIN r.servicePoint p " +
+            "WHERE r.date BETWEEN :from AND :to ";
+
+    String REFERENCE_GROUPING = " GROUP BY p.name, r.ageGroup HAVING SUM(r.total) > 0 ORDER BY p.name, r.ageGroup";
+
+    @Query(REFERENCE_COUNT + REFERENCE_GROUPING)
+    List<OrderReferenceCount> countByDateBetween(LocalDate from, LocalDate to);
+
+    @Query(REFERENCE_COUNT + "AND p.name = :point" + REFERENCE_GROUPING)
+    List<OrderReferenceCount> countByDateBetweenAndServicePoint(LocalDate from, LocalDate to, String point);
+
+    @Query(REFERENCE_COUNT + "AND r.ageGroup = :ageGroup" + REFERENCE_GROUPING)
+    List<OrderReferenceCount> countByDateBetweenAndAgeGroup(LocalDate from, LocalDate to, AgeGroupEnum ageGroup);
+
+    @Query(REFERENCE_COUNT + "AND p.name = :point AND r.ageGroup = :ageGroup" + REFERENCE_GROUPING)
+    List<OrderReferenceCount> countByDateBetweenAndServicePointAndAgeGroup(LocalDate from, LocalDate to, String point, AgeGroupEnum ageGroup);
+
+    @Modifying
+    @Query("UPDATE OrderDailyRollupEntity r SET r.total = r.total + :total, r.allergic = r.allergic + :allergic " +
+            "WHERE r.date = :date AND r.servicePoint.id = :pointId AND r.ageGroup = :ageGroup")
+    int addToCounters(LocalDate date, Long pointId, AgeGroupEnum ageGroup, long total, long allergic);
+
+    //one atomic statement, two first orders for the same day, point and age group cannot both insert the counter row
+    @Modifying
+    @Query(value = "INSERT INTO orders_daily_rollup (date, service_point_id, age_group, total, allergic) " +
+            "VALUES (:date, :pointId, :ageGroup, :total, :allergic) " +
+            "ON DUPLICATE KEY UPDATE total = total + :total, allergic = allergic + :allergic", nativeQuery = true)
+    int upsertCounters(LocalDate date, Long pointId, String ageGroup, long total, long allergic);
+
+    @Modifying
+    @Query("UPDATE OrderDailyRollupEntity r SET r.total = 0, r.allergic = 0 WHERE r.servicePoint = :point AND r.date IN :dates")
+    int resetCounters(PointEntity point, Collection<LocalDate> dates);
+
+    @Modifying
+    @Query("INSERT INTO OrderDailyRollupEntity (date, servicePoint, ageGroup, total, allergic) " +
+            "SELECT o.date, o.servicePoint, c.ageGroup, COUNT(DISTINCT o.id), COUNT(DISTINCT CASE WHEN a.id IS NOT NULL THEN o.id END) " +
+            "FROM OrderEntity o JOIN o.child c LEFT JOIN c.allergies a ON a.allergenName <> :none " +
+            "GROUP BY o.date, o.servicePoint, c.ageGroup")
+    int insertFromOrders(AllergyEnum none);
+
+    @Query("SELECT r.id FROM OrderDailyRollupEntity r WHERE r.date < :date AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsByDateBefore(LocalDate date, Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderDailyRollupEntity r WHERE r.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT r FROM OrderDailyRollupEntity r JOIN FETCH r.servicePoint WHERE r.date >= :date")
+    List<OrderDailyRollupEntity> findAllByDateFrom(LocalDate date);
+}
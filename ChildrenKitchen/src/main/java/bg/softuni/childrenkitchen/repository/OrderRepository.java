@@ -1,33 +1,130 @@
 package bg.softuni.childrenkitchen.repository;
 
+import bg.softuni.childrenkitchen.model.entity.ChildEntity;
 import bg.softuni.childrenkitchen.model.entity.OrderEntity;
-import bg.softuni.childrenkitchen.model.entity.PointEntity;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergyEnum;
+import bg.softuni.childrenkitchen.model.view.ActiveOrderRow;
+import bg.softuni.childrenkitchen.model.view.ArchivedOrder;
+import bg.softuni.childrenkitchen.model.view.ClosedOrderRow;
+import bg.softuni.childrenkitchen.model.view.DeletedOrderRow;
+import bg.softuni.childrenkitchen.model.view.OrderExportRow;
+import bg.softuni.childrenkitchen.model.view.ProductionSheetRow;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
 
-    List<OrderEntity> findAllByDateBetween(LocalDate from, LocalDate to);
+    String ALLERGIC_CHILDREN = "SELECT DISTINCT c FROM OrderEntity o JOIN o.child c JOIN c.allergies a " +
+            "WHERE o.date BETWEEN :from AND :to AND a.allergenName <> :none ";
+
+    @Query("SELECT o.date FROM OrderEntity o WHERE o.child.id = :childId AND o.date IN :dates")
+    List<LocalDate> findDatesByChildIdAndDateIn(Long childId, Collection<LocalDate> dates);
+
+    @Query("SELECT o.date FROM OrderEntity o WHERE o.child.id = :childId ORDER BY o.date")
+    List<LocalDate> findDatesByChildId(Long childId);
+
+    @Query("SELECT DISTINCT o.date FROM OrderEntity o WHERE o.child.id = :childId AND o.date BETWEEN :from AND :to")
+    List<LocalDate> findDatesByChildIdAndDateBetween(Long childId, LocalDate from, LocalDate to);
+
+    boolean existsByChildIdAndDate(Long childId, LocalDate date);
+
+    //the last order of the day first, admins may have added more than one
+    @Query("SELECT new bg.softuni.childrenkitchen.model.view.DeletedOrderRow(o.id, cp.id, c.id, o.date, p.id, p.name, c.ageGroup, " +
+            "(SELECT COUNT(a.id) FROM c.allergies a WHERE a.allergenName <> :none)) " +
+            "FROM OrderEntity o JOIN o.child c JOIN o.servicePoint p LEFT JOIN o.coupon cp " +
+            "WHERE c.id = :childId AND o.date = :date ORDER BY o.id DESC")
+    List<DeletedOrderRow> findDeletedOrderRows(Long childId, LocalDate date, AllergyEnum none, Pageable pageable);
+
+    //one set-based statement instead of N single inserts, the identity ids block jdbc insert batching
+    @Modifying
+    @Query("INSERT INTO OrderEntity (date, user, child, coupon, servicePoint, primaryOrder) " +
+            "SELECT c.verifiedDate, u, c.owner, c, p, CASE WHEN :primaryOrder = TRUE THEN TRUE ELSE NULL END " +
+            "FROM CouponEntity c, UserEntity u, PointEntity p " +
+            "WHERE c.id IN :couponIds AND u.id = :userId AND p.id = :pointId")
+    int insertAllForCoupons(Collection<Long> couponIds, Long userId, Long pointId, boolean primaryOrder);
+
+    //paged to one row, so the check on start stops at the first day without a primary order
+    @Query("SELECT o.id FROM OrderEntity o WHERE o.primaryOrder IS NULL AND NOT EXISTS " +
+            "(SELECT p.id FROM OrderEntity p WHERE p.child = o.child AND p.date = o.date AND p.primaryOrder = TRUE)")
+    List<Long> findUnmarkedOrderIds(Pageable pageable);
 
-    List<OrderEntity>findAllByDateBetweenAndServicePointAndChildAgeGroup(LocalDate from, LocalDate to, PointEntity point, AgeGroupEnum ageGroup);
+    //orders saved before the primary flag existed, the first one of every day becomes the primary
+    @Query("SELECT MIN(o.id) FROM OrderEntity o GROUP BY o.child.id, o.date HAVING COUNT(o.primaryOrder) = 0")
+    List<Long> findFirstIdsOfUnmarkedDays();
 
-    List<OrderEntity>findAllByDateBetweenAndServicePoint(LocalDate from, LocalDate to, PointEntity point);
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.primaryOrder = TRUE WHERE o.id IN :ids")
+    int markPrimaryOrders(Collection<Long> ids);
+
+    @Query("SELECT new bg.softuni.childrenkitchen.model.view.ClosedOrderRow(c.id, o.date, c.ageGroup, " +
+            "(SELECT COUNT(a.id) FROM c.allergies a WHERE a.allergenName <> :none)) " +
+            "FROM OrderEntity o JOIN o.child c " +
+            "WHERE o.servicePoint.id = :pointId AND o.date IN :dates")
+    List<ClosedOrderRow> findClosedOrderRows(Long pointId, Collection<LocalDate> dates, AllergyEnum none);
+
+    @Modifying
+    @Query("DELETE FROM OrderEntity o WHERE o.servicePoint.id = :pointId AND o.date IN :dates")
+    int deleteAllByServicePointIdAndDateIn(Long pointId, Collection<LocalDate> dates);
+
+    @Query("SELECT o.id FROM OrderEntity o WHERE o.date < :date AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByDateBefore(LocalDate date, Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderEntity o WHERE o.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new bg.softuni.childrenkitchen.model.view.ArchivedOrder(o.id, o.date, c.id, c.fullName, u.email, p.name, c.ageGroup, cp.id) " +
+            "FROM OrderEntity o LEFT JOIN o.child c LEFT JOIN o.user u LEFT JOIN o.servicePoint p LEFT JOIN o.coupon cp " +
+            "WHERE o.id IN :ids ORDER BY o.id")
+    List<ArchivedOrder> findArchivedOrders(Collection<Long> ids);
+
+    List<OrderEntity> findAllByDateBetween(LocalDate from, LocalDate to);
 
-    List<OrderEntity> findAllByDateBetweenAndChildAgeGroup(LocalDate from, LocalDate to, AgeGroupEnum ageGroup);
+    @Query(ALLERGIC_CHILDREN)
+    List<ChildEntity> findAllergicChildrenByDateBetween(LocalDate from, LocalDate to, AllergyEnum none);
 
-    List<OrderEntity> findAllByChildFullName(String childFullName);
+    @Query(ALLERGIC_CHILDREN + "AND o.servicePoint.name = :point")
+    List<ChildEntity> findAllergicChildrenByDateBetweenAndServicePoint(LocalDate from, LocalDate to, String point, AllergyEnum none);
 
-    List<OrderEntity> findAllByChildFullNameAndDate(String childFullName, LocalDate date);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new bg.softuni.childrenkitchen.model.view.OrderExportRow(o.date, p.name, c.fullName, c.ageGroup, u.email, " +
+            "CASE WHEN EXISTS (SELECT a.id FROM ChildEntity ch JOIN ch.allergies a WHERE ch = c AND a.allergenName <> :none) THEN TRUE ELSE FALSE END) " +
+            "FROM OrderEntity o JOIN o.servicePoint p JOIN o.child c JOIN o.user u " +
+            "WHERE o.date BETWEEN :from AND :to AND (:allPoints = TRUE OR p.name = :point) AND c.ageGroup IN :ageGroups " +
+            "ORDER BY o.date, p.name, c.fullName")
+    Stream<OrderExportRow> streamExportRows(LocalDate from, LocalDate to, boolean allPoints, String point, Collection<AgeGroupEnum> ageGroups, AllergyEnum none);
 
-    Optional<List<OrderEntity>> findAllByUserEmail(String userEmail);
+    @Query("SELECT new bg.softuni.childrenkitchen.model.view.ProductionSheetRow(o.date, p.name, c.ageGroup, s.name, m.name, d.name, COUNT(o.id)) " +
+            "FROM OrderEntity o JOIN o.servicePoint p JOIN o.child c " +
+            "LEFT JOIN DailyManuEntity menu ON menu.date = o.date AND menu.ageGroup = c.ageGroup " +
+            "LEFT JOIN menu.soup s LEFT JOIN menu.main m LEFT JOIN menu.dessert d " +
+            "WHERE o.date BETWEEN :from AND :to " +
+            "GROUP BY o.date, p.name, c.ageGroup, s.name, m.name, d.name " +
+            "ORDER BY o.date, p.name, c.ageGroup")
+    List<ProductionSheetRow> findProductionSheetRows(LocalDate from, LocalDate to);
 
-    List<OrderEntity> findAllByDateAndChildFullName(LocalDate date, String childName);
+    @Query("SELECT new bg.softuni.childrenkitchen.model.view.ActiveOrderRow(o.date, ch.fullName, p.name, c.ageGroup, " +
+            "(SELECT COUNT(f.id) FROM CouponEntity f WHERE f.owner = ch AND f.verifiedDate IS NULL)) " +
+            "FROM OrderEntity o JOIN o.coupon c JOIN o.child ch JOIN o.servicePoint p " +
+            "WHERE o.user.email = :userEmail AND c.verifiedDate >= :from " +
+            "ORDER BY c.verifiedDate DESC")
+    List<ActiveOrderRow> findActiveOrderRows(String userEmail, LocalDate from);
 
     List<OrderEntity> findAllByUserId(Long userId);
 }
@@ -0,0 +1,9 @@
+package bg.softuni.childrenkitchen.repository;
+
+import bg.softuni.childrenkitchen.model.entity.PortionForecastEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PortionForecastRepository extends JpaRepository<PortionForecastEntity, Long> {
+}
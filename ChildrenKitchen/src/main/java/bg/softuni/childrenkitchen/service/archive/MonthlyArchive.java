@@ -0,0 +1,116 @@
+package bg.softuni.childrenkitchen.service.archive;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+//one gzip file per table and month, every append adds a new gzip member to the end of the file
+public class MonthlyArchive<T> {
+    private static final byte RECORD_VERSION = 1;
+
+    private final Path directory;
+    private final String tableName;
+    private final RecordWriter<T> writer;
+    private final RecordReader<T> reader;
+
+    public MonthlyArchive(Path directory, String tableName, RecordWriter<T> writer, RecordReader<T> reader) {
+        this.directory = directory;
+        this.tableName = tableName;
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    public synchronized void append(YearMonth month, List<T> records) {
+        try {
+            Files.createDirectories(directory);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(
+                    Files.newOutputStream(partition(month), StandardOpenOption.CREATE, StandardOpenOption.APPEND))))) {
+
+                for (T record : records) {
+                    out.writeByte(RECORD_VERSION);
+                    writer.write(record, out);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized List<T> read(YearMonth month) {
+        Path partition = partition(month);
+        List<T> records = new ArrayList<>();
+
+        if (!Files.exists(partition)) {
+            return records;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(partition))))) {
+            int version;
+
+            while ((version = in.read()) != -1) {
+                if (version != RECORD_VERSION) {
+                    throw new IOException("Unknown archive record version " + version + " in " + partition);
+                }
+
+                records.add(reader.read(in));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return records;
+    }
+
+    private Path partition(YearMonth month) {
+        return directory.resolve(tableName + "-" + month + ".bin.gz");
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    public static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    public static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    public static void writeDate(DataOutput out, LocalDate value) throws IOException {
+        writeLong(out, value == null ? null : value.toEpochDay());
+    }
+
+    public static LocalDate readDate(DataInput in) throws IOException {
+        Long epochDay = readLong(in);
+        return epochDay == null ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    @FunctionalInterface
+    public interface RecordWriter<T> {
+        void write(T record, DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface RecordReader<T> {
+        T read(DataInput in) throws IOException;
+    }
+}
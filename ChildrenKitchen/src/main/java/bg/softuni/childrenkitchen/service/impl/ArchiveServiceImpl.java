@@ -0,0 +1,129 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.config.ArchiveConfiguration;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.view.ArchivedCoupon;
+import bg.softuni.childrenkitchen.model.view.ArchivedOrder;
+import bg.softuni.childrenkitchen.repository.CouponRepository;
+import bg.softuni.childrenkitchen.repository.OrderRepository;
+import bg.softuni.childrenkitchen.service.archive.MonthlyArchive;
+import bg.softuni.childrenkitchen.service.interfaces.ArchiveService;
+import org.springframework.stereotype.Service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static bg.softuni.childrenkitchen.service.archive.MonthlyArchive.*;
+
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+    private final OrderRepository orderRepository;
+    private final CouponRepository couponRepository;
+    private final MonthlyArchive<ArchivedOrder> ordersArchive;
+    private final MonthlyArchive<ArchivedCoupon> couponsArchive;
+
+    public ArchiveServiceImpl(OrderRepository orderRepository, CouponRepository couponRepository, ArchiveConfiguration archiveConfiguration) {
+        this.orderRepository = orderRepository;
+        this.couponRepository = couponRepository;
+
+        Path directory = Path.of(archiveConfiguration.getPath());
+        this.ordersArchive = new MonthlyArchive<>(directory, "orders", ArchiveServiceImpl::writeOrder, ArchiveServiceImpl::readOrder);
+        this.couponsArchive = new MonthlyArchive<>(directory, "coupons", ArchiveServiceImpl::writeCoupon, ArchiveServiceImpl::readCoupon);
+    }
+
+    @Override
+    public void archiveOrders(Collection<Long> orderIds) {
+        orderRepository.findArchivedOrders(orderIds)
+                       .stream()
+                       .collect(Collectors.groupingBy(o -> YearMonth.from(o.getDate()), TreeMap::new, Collectors.toList()))
+                       .forEach(ordersArchive::append);
+    }
+
+    @Override
+    public void archiveCoupons(Collection<Long> couponIds) {
+        couponRepository.findArchivedCoupons(couponIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(c -> YearMonth.from(c.getVerifiedDate()), TreeMap::new, Collectors.toList()))
+                        .forEach(couponsArchive::append);
+    }
+
+    @Override
+    public List<ArchivedOrder> getArchivedOrders(Long childId, int year) {
+        return readYear(ordersArchive, year, ArchivedOrder::getId, o -> childId.equals(o.getChildId()));
+    }
+
+    @Override
+    public List<ArchivedCoupon> getArchivedCoupons(Long childId, int year) {
+        return readYear(couponsArchive, year, ArchivedCoupon::getId, c -> childId.equals(c.getOwnerId()));
+    }
+
+    //only the twelve partitions of the year are scanned, a row archived twice by a repeated purge is returned once
+    private static <T> List<T> readYear(MonthlyArchive<T> archive, int year, Function<T, Long> id, Predicate<T> filter) {
+        Map<Long, T> records = new LinkedHashMap<>();
+
+        for (Month month : Month.values()) {
+            archive.read(YearMonth.of(year, month))
+                   .stream()
+                   .filter(filter)
+                   .forEach(record -> records.put(id.apply(record), record));
+        }
+
+        return new ArrayList<>(records.values());
+    }
+
+    private static void writeOrder(ArchivedOrder order, DataOutput out) throws IOException {
+        writeLong(out, order.getId());
+        writeDate(out, order.getDate());
+        writeLong(out, order.getChildId());
+        writeString(out, order.getChildFullName());
+        writeString(out, order.getUserEmail());
+        writeString(out, order.getServicePointName());
+        writeString(out, order.getAgeGroup() == null ? null : order.getAgeGroup().name());
+        writeLong(out, order.getCouponId());
+    }
+
+    private static ArchivedOrder readOrder(DataInput in) throws IOException {
+        Long id = readLong(in);
+        LocalDate date = readDate(in);
+        Long childId = readLong(in);
+        String childFullName = readString(in);
+        String userEmail = readString(in);
+        String servicePointName = readString(in);
+        String ageGroup = readString(in);
+        Long couponId = readLong(in);
+
+        return new ArchivedOrder(id, date, childId, childFullName, userEmail, servicePointName,
+                ageGroup == null ? null : AgeGroupEnum.valueOf(ageGroup), couponId);
+    }
+
+    private static void writeCoupon(ArchivedCoupon coupon, DataOutput out) throws IOException {
+        writeLong(out, coupon.getId());
+        writeLong(out, coupon.getOwnerId());
+        writeString(out, coupon.getOwnerFullName());
+        writeString(out, coupon.getAgeGroup() == null ? null : coupon.getAgeGroup().name());
+        writeString(out, coupon.getPrice() == null ? null : coupon.getPrice().toPlainString());
+        writeDate(out, coupon.getVerifiedDate());
+    }
+
+    private static ArchivedCoupon readCoupon(DataInput in) throws IOException {
+        Long id = readLong(in);
+        Long ownerId = readLong(in);
+        String ownerFullName = readString(in);
+        String ageGroup = readString(in);
+        String price = readString(in);
+        LocalDate verifiedDate = readDate(in);
+
+        return new ArchivedCoupon(id, ownerId, ownerFullName, ageGroup == null ? null : AgeGroupEnum.valueOf(ageGroup),
+                price == null ? null : new BigDecimal(price), verifiedDate);
+    }
+}
@@ -11,18 +11,24 @@ import bg.softuni.childrenkitchen.repository.CouponRepository;
 import bg.softuni.childrenkitchen.service.interfaces.CouponService;
 import bg.softuni.childrenkitchen.service.interfaces.MenuService;
 import bg.softuni.childrenkitchen.service.interfaces.UserService;
-import org.springframework.scheduling.annotation.Scheduled;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Service
 public class CouponServiceImpl implements CouponService {
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
     private final CouponRepository couponRepository;
     private final UserService userService;
     private final MenuService menuService;
@@ -114,34 +120,41 @@ public class CouponServiceImpl implements CouponService {
     }
 
     @Override
+    @Transactional
     public CouponEntity getAndVerifyCoupon(String userEmail, String childName, LocalDate forDate) {
 
-        ChildEntity childEntity = userService.getChildByNames(childName, userEmail);
+        return claimFreeCoupons(() -> couponRepository.findFirstByOwnerFullNameAndOwnerParentEmailAndVerifiedDateIsNullOrderByIdAsc(childName, userEmail)
+                                                      .stream()
+                                                      .toList(), List.of(forDate))
+                .get(0);
+    }
 
-        CouponEntity nextFreeCoupon = getNextFreeCoupon(childEntity);
+    @Override
+    @Transactional
+    public List<CouponEntity> getAndVerifyCoupons(ChildEntity child, List<LocalDate> forDates) {
 
-        nextFreeCoupon.setVerifiedDate(forDate);
+        return claimFreeCoupons(() -> couponRepository.findFreeCoupons(child.getId(), PageRequest.of(0, forDates.size())), forDates);
+    }
 
-        couponRepository.save(nextFreeCoupon);
+    @Override
+    public int countFreeCoupons(Long childId) {
+        return couponRepository.countByOwnerIdAndVerifiedDateIsNull(childId);
+    }
 
-        return nextFreeCoupon;
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public int releaseCoupons(Long servicePointId, Collection<LocalDate> dates) {
+        return couponRepository.releaseAllByServicePointIdAndDateIn(servicePointId, dates);
     }
 
     @Override
+    @Transactional(Transactional.TxType.MANDATORY)
     public Long unverifiedCoupon(Long couponId) {
-        Optional<CouponEntity> couponToUnverified = couponRepository.findById(couponId);
-
-
-        if (couponToUnverified.isEmpty()){
+        if (couponRepository.releaseCoupon(couponId) == 0) {
             throw new ObjectNotFoundException();
         }
 
-        CouponEntity couponEntity = couponToUnverified.get();
-        couponEntity.setVerifiedDate(null);
-
-        couponRepository.save(couponEntity);
-
-        return couponEntity.getId();
+        return couponId;
     }
 
     @Override
@@ -150,20 +163,42 @@ public class CouponServiceImpl implements CouponService {
     }
 
 
-    private CouponEntity getNextFreeCoupon(ChildEntity child) {
+    //One locking select and one conditional update for all dates. The lock keeps mysql from handing the same coupons
+    //to a concurrent order, the conditional update guards databases that ignore FOR UPDATE such as hsqldb.
+    private List<CouponEntity> claimFreeCoupons(Supplier<List<CouponEntity>> freeCoupons, List<LocalDate> forDates) {
 
-        Optional<CouponEntity> coupon = child.getCoupons()
-                                            .stream()
-                                            .filter(couponEntity -> couponEntity.getVerifiedDate() == null)
-                                            .findFirst();
-        if (coupon.isEmpty()){
-            throw new NoAvailableCouponsException();
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            List<CouponEntity> coupons = freeCoupons.get();
+
+            if (coupons.size() < forDates.size()) {
+                throw new NoAvailableCouponsException();
+            }
+
+            Map<Long, LocalDate> datesByCouponId = new LinkedHashMap<>();
+            for (int i = 0; i < forDates.size(); i++) {
+                datesByCouponId.put(coupons.get(i).getId(), forDates.get(i));
+            }
+
+            int claimed = couponRepository.claimCoupons(datesByCouponId);
+
+            if (claimed == forDates.size()) {
+                //the instances may already be loaded through child.getCoupons() before the update
+                for (int i = 0; i < forDates.size(); i++) {
+                    coupons.get(i).setVerifiedDate(forDates.get(i));
+                }
+
+                return coupons.subList(0, forDates.size());
+            }
+
+            //only a claim that took nothing can start over, a partly claimed batch is rolled back
+            if (claimed > 0) {
+                break;
+            }
         }
 
-        return coupon.get();
+        throw new NoAvailableCouponsException();
     }
 
-
     private List<CouponEntity> createCoupons(BuyCouponsBindingModel buyCouponsBindingModel, String parentEmail) {
         int countCoupons = buyCouponsBindingModel.getCountCoupons();
 
@@ -208,20 +243,6 @@ public class CouponServiceImpl implements CouponService {
         return coupons;
     }
 
-    //At 00:30 on day-of-month 20 in February.
-    @Scheduled(cron = "00 30 00 20 02 *")
-    public void yearlyDeleteCoupons(){
-
-        List<CouponEntity> olderThanOneYear = couponRepository.findAll()
-                                                     .stream()
-                                                     .filter(coupon -> coupon.getVerifiedDate()!=null &&
-                                                             coupon.getVerifiedDate()
-                                                                   .isBefore(LocalDate.now()))
-                                                     .collect(Collectors.toList());
-
-        couponRepository.deleteAll(olderThanOneYear);
-    }
-
 
 
 }
@@ -11,6 +11,7 @@ import bg.softuni.childrenkitchen.model.view.FoodViewModel;
 import bg.softuni.childrenkitchen.repository.FoodRepository;
 import bg.softuni.childrenkitchen.service.interfaces.AllergenService;
 import bg.softuni.childrenkitchen.service.interfaces.FoodService;
+import bg.softuni.childrenkitchen.service.version.DatasetVersions;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import java.util.*;
@@ -21,11 +22,13 @@ public class FoodServiceImpl implements FoodService {
     private final FoodRepository foodRepository;
     private final AllergenService allergenService;
     private final ModelMapper modelMapper;
+    private final DatasetVersions datasetVersions;
 
-    public FoodServiceImpl(FoodRepository foodRepository, AllergenService allergenService, ModelMapper modelMapper) {
+    public FoodServiceImpl(FoodRepository foodRepository, AllergenService allergenService, ModelMapper modelMapper, DatasetVersions datasetVersions) {
         this.foodRepository = foodRepository;
         this.allergenService = allergenService;
         this.modelMapper = modelMapper;
+        this.datasetVersions = datasetVersions;
     }
 
     @Override
@@ -72,6 +75,13 @@ public class FoodServiceImpl implements FoodService {
         return foodRepository.findByName(foodName);
     }
 
+    @Override
+    public Map<String, FoodEntity> getAllByNames(Collection<String> foodNames) {
+        return foodRepository.findAllWithAllergensByNameIn(foodNames)
+                             .stream()
+                             .collect(Collectors.toMap(FoodEntity::getName, food -> food));
+    }
+
     @Override
     public boolean existByName(String foodName) {
         return foodRepository.existsByName(foodName.toUpperCase());
@@ -91,7 +101,7 @@ public class FoodServiceImpl implements FoodService {
         foodEntity.setAllergens(allergenEntities);
 
         FoodEntity saved = foodRepository.save(foodEntity);
-
+        datasetVersions.bump(DatasetVersions.Dataset.FOODS);
 
         return mapToFoodViewModel(saved);
 
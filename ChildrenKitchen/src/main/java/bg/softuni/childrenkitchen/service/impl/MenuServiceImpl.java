@@ -6,107 +6,100 @@ import bg.softuni.childrenkitchen.model.entity.DailyManuEntity;
 import bg.softuni.childrenkitchen.model.entity.FoodEntity;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
 import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
-import bg.softuni.childrenkitchen.model.view.FoodViewModel;
+import bg.softuni.childrenkitchen.model.event.MenuChangedEvent;
+import bg.softuni.childrenkitchen.model.view.DishViewModel;
+import bg.softuni.childrenkitchen.model.view.MenuImportViewModel;
 import bg.softuni.childrenkitchen.model.view.MenuViewModel;
 import bg.softuni.childrenkitchen.repository.MenusRepository;
 import bg.softuni.childrenkitchen.service.interfaces.FoodService;
 import bg.softuni.childrenkitchen.service.interfaces.MenuService;
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
+import bg.softuni.childrenkitchen.service.menu.WeeklyMenuCache;
+import bg.softuni.childrenkitchen.service.version.DatasetVersions;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Optional;
+import java.time.format.DateTimeParseException;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MenuServiceImpl implements MenuService {
+    private static final int CSV_COLUMNS = 5;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd LLLL yyyy");
+    private static final Map<DayOfWeek, String> DAY_NAMES = new EnumMap<>(Map.of(DayOfWeek.MONDAY, "Понеделник",
+                                                                                  DayOfWeek.TUESDAY, "Вторник",
+                                                                                  DayOfWeek.WEDNESDAY, "Сряда",
+                                                                                  DayOfWeek.THURSDAY, "Четвъртък",
+                                                                                  DayOfWeek.FRIDAY, "Петък"));
+    private static final DishViewModel NO_SOUP = new DishViewModel("Няма въведена супа за тази дата", null, null, null);
+    private static final DishViewModel NO_MAIN = new DishViewModel("Няма въведено основно за тази дата", null, null, null);
+    private static final DishViewModel NO_DESSERT = new DishViewModel("Няма въведен десерт за тази дата", null, null, null);
+
     private final MenusRepository menusRepository;
     private final FoodService foodService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final WorkingDayService workingDayService;
+    private final WeeklyMenuCache weeklyMenuCache;
+    private final DatasetVersions datasetVersions;
 
-    public MenuServiceImpl(MenusRepository menusRepository, FoodService foodService) {
+    public MenuServiceImpl(MenusRepository menusRepository, FoodService foodService, ApplicationEventPublisher applicationEventPublisher, WorkingDayService workingDayService, WeeklyMenuCache weeklyMenuCache, DatasetVersions datasetVersions) {
         this.menusRepository = menusRepository;
         this.foodService = foodService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.workingDayService = workingDayService;
+        this.weeklyMenuCache = weeklyMenuCache;
+        this.datasetVersions = datasetVersions;
     }
 
     @Override
     public void initDB() {
-        if (menusRepository.count() > 0){
-            return;
+        if (menusRepository.count() == 0){
+            saveLittleMenu();
+            saveBigMenu();
         }
 
-        saveLittleMenu();
-        saveBigMenu();
-
+        rolloverWeeklyMenu();
     }
 
     @Override
-    public List<MenuViewModel> getWeeklyMenu() {
-
-        List<LocalDate> mondayAndFriday = getDateOfCurrentMondayAndFriday(LocalDate.now());
-
-        LocalDate monday = mondayAndFriday.get(0);
-        LocalDate friday = mondayAndFriday.get(1);
+    public Map<AgeGroupEnum, List<MenuViewModel>> getWeeklyMenu() {
 
+        LocalDate monday = getDateOfCurrentMondayAndFriday(LocalDate.now()).get(0);
 
-        List<DailyManuEntity> weeklyMenu = menusRepository.findByDateBetween(monday, friday);
+        Map<AgeGroupEnum, List<MenuViewModel>> weeklyMenu = weeklyMenuCache.getWeek(monday, this::loadTwoWeeks);
 
         if(weeklyMenu.isEmpty()){
             throw new NoAvailableMenuException();
         }
 
-        return weeklyMenu.stream()
-                                                .map(this::mapToViewModel)
-                                                .collect(Collectors.toList());
+        return weeklyMenu;
 
     }
 
+    //the new week is loaded before it is swapped in, so the page never sees a half built week
     @Override
-    public List<LocalDate> getDateOfCurrentMondayAndFriday(LocalDate now) {
-        LocalDate monday = null;
-        LocalDate friday = null;
-
-        if (now.getDayOfWeek().name().equals("MONDAY")){
-            monday = now;
-            friday = LocalDate.now().plusDays(5L);
-        }
-
-        if (now.getDayOfWeek().name().equals("TUESDAY")){
-            monday = LocalDate.now().minusDays(1L);
-            friday = LocalDate.now().plusDays(3L);
-        }
-
-        if (now.getDayOfWeek().name().equals("WEDNESDAY")){
-            monday = LocalDate.now().minusDays(2L);
-            friday = LocalDate.now().plusDays(2L);
-        }
-
-        if (now.getDayOfWeek().name().equals("THURSDAY")){
-            monday = LocalDate.now().minusDays(3L);
-            friday = LocalDate.now().plusDays(1L);
-        }
-
-        if (now.getDayOfWeek().name().equals("FRIDAY")){
-            friday = now;
-            monday = LocalDate.now().minusDays(4L);
-        }
-
-        if (now.getDayOfWeek().name().equals("SATURDAY")){
-            friday = LocalDate.now().minusDays(1L);
-            monday = LocalDate.now().minusDays(5L);
-        }
-
-        if (now.getDayOfWeek().name().equals("SUNDAY")){
-            friday = LocalDate.now().minusDays(2L);
-            monday = LocalDate.now().minusDays(6L);
-        }
+    @Scheduled(cron = "00 00 00 * * MON")
+    public void rolloverWeeklyMenu() {
+        weeklyMenuCache.rollover(getDateOfCurrentMondayAndFriday(LocalDate.now()).get(0), this::loadTwoWeeks);
+        datasetVersions.bump(DatasetVersions.Dataset.MENUS);
+    }
 
-        if(monday == null || friday == null){
-            throw new NullPointerException("Some of date is null!");
-        }
+    private List<MenuViewModel> loadTwoWeeks(LocalDate monday) {
+        return menusRepository.findAllWithFoodsByDateBetween(monday, monday.plusDays(13))
+                              .stream()
+                              .map(this::mapToViewModel)
+                              .toList();
+    }
 
-        return List.of(monday, friday);
+    @Override
+    public List<LocalDate> getDateOfCurrentMondayAndFriday(LocalDate now) {
+        return workingDayService.getWorkingWeek(now);
     }
 
     @Override
@@ -121,7 +114,14 @@ public class MenuServiceImpl implements MenuService {
 
         DailyManuEntity saved = menusRepository.save(menu);
 
-       return mapToViewModel(saved);
+        MenuViewModel viewModel = mapToViewModel(saved);
+        weeklyMenuCache.put(viewModel);
+        datasetVersions.bump(DatasetVersions.Dataset.MENUS);
+
+        applicationEventPublisher.publishEvent(new MenuChangedEvent(this).setDate(saved.getDate())
+                                                                         .setAgeGroup(saved.getAgeGroup()));
+
+       return viewModel;
     }
 
     @Override
@@ -152,12 +152,201 @@ public class MenuServiceImpl implements MenuService {
 
         DailyManuEntity edited = menusRepository.save(menuEntity);
 
-        return mapToViewModel(edited);
+        MenuViewModel viewModel = mapToViewModel(edited);
+        weeklyMenuCache.put(viewModel);
+        datasetVersions.bump(DatasetVersions.Dataset.MENUS);
+
+        applicationEventPublisher.publishEvent(new MenuChangedEvent(this).setDate(edited.getDate())
+                                                                         .setAgeGroup(edited.getAgeGroup()));
+
+        return viewModel;
+    }
+
+
+    @Override
+    public MenuImportViewModel importMenus(List<AddMenuBindingModel> menus) {
+        Map<Integer, AddMenuBindingModel> rows = new LinkedHashMap<>();
+
+        for (int i = 0; i < menus.size(); i++) {
+            rows.put(i + 1, menus.get(i));
+        }
+
+        return importMenus(rows, new ArrayList<>());
+    }
+
+    @Override
+    public MenuImportViewModel importMenusCsv(String csv) {
+        Map<Integer, AddMenuBindingModel> rows = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+
+        String[] lines = csv.replace("\uFEFF", "").split("\\r?\\n");
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+
+            //the header row is optional
+            if (line.isEmpty() || (i == 0 && !Character.isDigit(line.charAt(0)))) {
+                continue;
+            }
+
+            List<String> cells = splitCsvLine(line);
+            if (cells.size() != CSV_COLUMNS) {
+                errors.add(String.format("Ред %d: очакват се %d колони - дата, възрастова група, супа, основно, десерт", i + 1, CSV_COLUMNS));
+                continue;
+            }
+
+            AddMenuBindingModel menu = new AddMenuBindingModel();
+            try {
+                menu.setDate(LocalDate.parse(cells.get(0)));
+            } catch (DateTimeParseException e) {
+                errors.add(String.format("Ред %d: невалидна дата %s", i + 1, cells.get(0)));
+                continue;
+            }
+            menu.setAgeGroup(cells.get(1));
+            menu.setSoup(cells.get(2));
+            menu.setMain(cells.get(3));
+            menu.setDessert(cells.get(4));
+
+            rows.put(i + 1, menu);
+        }
+
+        return importMenus(rows, errors);
+    }
+
+    //every row is checked before anything is saved, so the admin gets all problems of the file at once
+    private MenuImportViewModel importMenus(Map<Integer, AddMenuBindingModel> rows, List<String> errors) {
+        Set<String> foodNames = new HashSet<>();
+        Map<AgeGroupEnum, Set<LocalDate>> datesByAgeGroup = new EnumMap<>(AgeGroupEnum.class);
+
+        for (AddMenuBindingModel menu : rows.values()) {
+            Stream.of(menu.getSoup(), menu.getMain(), menu.getDessert())
+                  .filter(Objects::nonNull)
+                  .forEach(foodNames::add);
+
+            AgeGroupEnum ageGroup = toAgeGroup(menu.getAgeGroup());
+            if (ageGroup != null && menu.getDate() != null) {
+                datesByAgeGroup.computeIfAbsent(ageGroup, a -> new HashSet<>())
+                               .add(menu.getDate());
+            }
+        }
+
+        //one query for all dishes and one per age group for the existing menus, instead of three lookups per menu
+        Map<String, FoodEntity> foods = foodNames.isEmpty() ? Map.of() : foodService.getAllByNames(foodNames);
+        Map<AgeGroupEnum, Set<LocalDate>> existing = new EnumMap<>(AgeGroupEnum.class);
+        datesByAgeGroup.forEach((ageGroup, dates) -> existing.put(ageGroup, new HashSet<>(menusRepository.findDatesByAgeGroupAndDateIn(ageGroup, dates))));
+
+        Map<AgeGroupEnum, Set<LocalDate>> imported = new EnumMap<>(AgeGroupEnum.class);
+        List<DailyManuEntity> menus = new ArrayList<>();
+
+        rows.forEach((row, menu) -> {
+            int errorsBefore = errors.size();
+            LocalDate date = menu.getDate();
+            AgeGroupEnum ageGroup = toAgeGroup(menu.getAgeGroup());
+
+            if (date == null) {
+                errors.add(String.format("Ред %d: липсва дата", row));
+            } else if (!workingDayService.isWorkingDay(date)) {
+                errors.add(String.format("Ред %d: %s не е работен ден", row, date));
+            }
+
+            if (ageGroup == null) {
+                errors.add(String.format("Ред %d: невалидна възрастова група %s", row, menu.getAgeGroup()));
+            }
+
+            if (date != null && ageGroup != null) {
+                if (existing.get(ageGroup).contains(date)) {
+                    errors.add(String.format("Ред %d: вече има меню за %s (%s)", row, date, ageGroup));
+                } else if (!imported.computeIfAbsent(ageGroup, a -> new HashSet<>()).add(date)) {
+                    errors.add(String.format("Ред %d: менюто за %s (%s) се повтаря", row, date, ageGroup));
+                }
+            }
+
+            FoodEntity soup = toFood(foods, menu.getSoup(), row, errors);
+            FoodEntity main = toFood(foods, menu.getMain(), row, errors);
+            FoodEntity dessert = toFood(foods, menu.getDessert(), row, errors);
+
+            if (errors.size() == errorsBefore) {
+                DailyManuEntity entity = new DailyManuEntity();
+                entity.setDate(date);
+                entity.setAgeGroup(ageGroup);
+                entity.setSoup(soup);
+                entity.setMain(main);
+                entity.setDessert(dessert);
+                menus.add(entity);
+            }
+        });
+
+        if (!errors.isEmpty()) {
+            return new MenuImportViewModel().setImported(0)
+                                            .setErrors(errors);
+        }
+
+        List<DailyManuEntity> saved = menusRepository.saveAll(menus);
+
+        for (DailyManuEntity menu : saved) {
+            weeklyMenuCache.put(mapToViewModel(menu));
+            applicationEventPublisher.publishEvent(new MenuChangedEvent(this).setDate(menu.getDate())
+                                                                             .setAgeGroup(menu.getAgeGroup()));
+        }
+        datasetVersions.bump(DatasetVersions.Dataset.MENUS);
+
+        return new MenuImportViewModel().setImported(saved.size())
+                                        .setErrors(errors);
+    }
+
+    private static AgeGroupEnum toAgeGroup(String ageGroup) {
+        return Arrays.stream(AgeGroupEnum.values())
+                     .filter(a -> a.name().equals(ageGroup))
+                     .findFirst()
+                     .orElse(null);
+    }
+
+    private static FoodEntity toFood(Map<String, FoodEntity> foods, String name, int row, List<String> errors) {
+        if (name == null || name.isBlank()) {
+            errors.add(String.format("Ред %d: липсва ястие", row));
+            return null;
+        }
+
+        FoodEntity food = foods.get(name);
+        if (food == null) {
+            errors.add(String.format("Ред %d: непознато ястие %s", row, name));
+        }
+
+        return food;
     }
 
+    private static List<String> splitCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '"' && quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                cell.append(c);
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString().trim());
+
+        return cells;
+    }
 
     @Override
     public MenuViewModel getMenuViewModelByDateAndAgeGroup(LocalDate date, AgeGroupEnum ageGroup) {
+        if (weeklyMenuCache.covers(date)) {
+            MenuViewModel cached = weeklyMenuCache.find(date, ageGroup);
+            return cached != null ? cached : mapToEmptyViewModel(date, ageGroup);
+        }
+
         Optional<DailyManuEntity> dailyManuEntity = menusRepository.findByDateAndAgeGroup(date, ageGroup);
 
         MenuViewModel viewModel = null;
@@ -171,101 +360,87 @@ public class MenuServiceImpl implements MenuService {
         return viewModel;
 
     }
-    private MenuViewModel mapToEmptyViewModel(LocalDate date, AgeGroupEnum ageGroup) {
-        MenuViewModel model = new MenuViewModel();
-        model.setDate(date.toString());
-        model.setDayOfWeek(date.getDayOfWeek().name());
-        model.setAgeGroupName(ageGroup.name());
-        model.setLocalDate(date);
-
-        FoodViewModel soup = new FoodViewModel();
-        soup.setName("Няма въведена супа за тази дата");
+    @Override
+    public Map<LocalDate, MenuViewModel> getMenuViewModelsByDatesAndAgeGroup(Collection<LocalDate> dates, AgeGroupEnum ageGroup) {
+        Map<LocalDate, MenuViewModel> menus = new TreeMap<>();
+        List<LocalDate> notCached = new ArrayList<>();
+
+        for (LocalDate date : dates) {
+            if (weeklyMenuCache.covers(date)) {
+                MenuViewModel cached = weeklyMenuCache.find(date, ageGroup);
+                menus.put(date, cached != null ? cached : mapToEmptyViewModel(date, ageGroup));
+            } else {
+                notCached.add(date);
+            }
+        }
 
-        FoodViewModel main = new FoodViewModel();
-        main.setName("Няма въведено основно за тази дата");
+        if (!notCached.isEmpty()) {
+            menusRepository.findAllByDateInAndAgeGroup(notCached, ageGroup)
+                           .forEach(menu -> menus.put(menu.getDate(), mapToViewModel(menu)));
+        }
 
-        FoodViewModel dessert = new FoodViewModel();
-        dessert.setName("Няма въведен десерт за тази дата");
+        dates.forEach(date -> menus.computeIfAbsent(date, d -> mapToEmptyViewModel(d, ageGroup)));
 
-        model.setSoup(soup);
-        model.setMain(main);
-        model.setDessert(dessert);
-        return model;
+        return menus;
     }
 
+    //the cached weeks are served as they are, the rest of the range is read with one query on the first day outside them
     @Override
-    public MenuViewModel mapToViewModel(DailyManuEntity entity) {
-
-        MenuViewModel menuViewModel = new MenuViewModel();
-
-        String localDay = entity.getDate().getDayOfWeek().name().toLowerCase();
-
-        String dayOfWeek = null;
-        switch (localDay){
-            case "monday" -> dayOfWeek = "Понеделник";
-            case "tuesday" -> dayOfWeek = "Вторник";
-            case "wednesday" -> dayOfWeek = "Сряда";
-            case "thursday" -> dayOfWeek = "Четвъртък";
-            case "friday" -> dayOfWeek = "Петък";
+    public List<MenuViewModel> getMenuViewModelsByRangeAndAgeGroup(LocalDate from, LocalDate to, AgeGroupEnum ageGroup) {
+        List<MenuViewModel> menus = new ArrayList<>();
+        Map<LocalDate, MenuViewModel> loaded = null;
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            MenuViewModel menu;
+
+            if (weeklyMenuCache.covers(date)) {
+                menu = weeklyMenuCache.find(date, ageGroup);
+            } else {
+                if (loaded == null) {
+                    loaded = menusRepository.findAllWithFoodsByDateBetweenAndAgeGroup(from, to, ageGroup)
+                                            .stream()
+                                            .collect(Collectors.toMap(DailyManuEntity::getDate, this::mapToViewModel));
+                }
+                menu = loaded.get(date);
+            }
+
+            if (menu == null && workingDayService.isWorkingDay(date)) {
+                menu = mapToEmptyViewModel(date, ageGroup);
+            }
+
+            if (menu != null) {
+                menus.add(menu);
+            }
         }
 
-        menuViewModel.setDayOfWeek(dayOfWeek);
-        menuViewModel.setLocalDate(entity.getDate());
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd LLLL yyyy");
-
-        menuViewModel.setDate(", " + formatter.format(entity.getDate()));
-
-        menuViewModel.setAgeGroupName(entity.getAgeGroup().name());
-
-        menuViewModel.setSoup(new FoodViewModel());
-        menuViewModel.getSoup().setName(entity.getSoup().getName());
-        menuViewModel.getSoup().setCategoryName(entity.getSoup().getCategory().name());
-        menuViewModel.getSoup().setAgeGroupName(entity.getSoup().getAgeGroup().name());
-        menuViewModel.getSoup().setAllergens(entity.getSoup().getAllergens().stream()
-                                                   .map(allergenEntity->allergenEntity.getName().toLowerCase())
-                                                   .map(this::mapToStringWithoutUnderscore)
-                                                   .collect(Collectors.joining(", ")));
-
-        menuViewModel.setMain(new FoodViewModel());
-        menuViewModel.getMain().setName(entity.getMain().getName());
-        menuViewModel.getMain().setCategoryName(entity.getMain().getCategory().name());
-        menuViewModel.getMain().setAgeGroupName(entity.getMain().getAgeGroup().name());
-        menuViewModel.getMain().setAllergens(entity.getMain().getAllergens().stream()
-                                                   .map(allergenEntity->allergenEntity.getName().toLowerCase())
-                                                   .map(this::mapToStringWithoutUnderscore)
-                                                   .collect(Collectors.joining(", ")));
-
-        menuViewModel.setDessert(new FoodViewModel());
-        menuViewModel.getDessert().setName(entity.getDessert().getName());
-        menuViewModel.getDessert().setCategoryName(entity.getDessert().getCategory().name());
-        menuViewModel.getDessert().setAgeGroupName(entity.getDessert().getAgeGroup().name());
-        menuViewModel.getDessert().setAllergens(entity.getDessert().getAllergens().stream()
-                                                      .map(allergenEntity->allergenEntity.getName().toLowerCase())
-                                                      .map(this::mapToStringWithoutUnderscore)
-                                                      .collect(Collectors.joining(", ")));
-
-        return menuViewModel;
+        return menus;
     }
 
-    @Scheduled(cron = "00 00 11 20 02 *")
-    public void YearlyDeleteCoupons(){
-        //delete all menus with date older than 1 year before 20.01 yearly
-
-        List<DailyManuEntity> olderThanOneYear = menusRepository.findAll()
-                                                              .stream()
-                                                              .filter(menu -> menu.getDate()
-                                                                                      .isBefore(LocalDate.now()))
-                                                              .collect(Collectors.toList());
+    //the dishes of the placeholder are shared, only the date part is built per day
+    private MenuViewModel mapToEmptyViewModel(LocalDate date, AgeGroupEnum ageGroup) {
+        return new MenuViewModel(date, date.toString(), date.getDayOfWeek().name(), ageGroup.name(), NO_SOUP, NO_MAIN, NO_DESSERT);
+    }
 
-        menusRepository.deleteAll(olderThanOneYear);
+    @Override
+    public MenuViewModel mapToViewModel(DailyManuEntity entity) {
+        LocalDate date = entity.getDate();
+
+        return new MenuViewModel(date,
+                ", " + DATE_FORMATTER.format(date),
+                DAY_NAMES.get(date.getDayOfWeek()),
+                entity.getAgeGroup().name(),
+                mapToDishViewModel(entity.getSoup()),
+                mapToDishViewModel(entity.getMain()),
+                mapToDishViewModel(entity.getDessert()));
     }
 
-    private String mapToStringWithoutUnderscore(String value){
-        if(value.contains("_")){
-            return value.replace("_", " ");
-        }
-        return value;
+    private static DishViewModel mapToDishViewModel(FoodEntity food) {
+        return new DishViewModel(food.getName(),
+                food.getAgeGroup().name(),
+                food.getCategory().name(),
+                food.getAllergens().stream()
+                    .map(allergenEntity -> allergenEntity.getName().toLowerCase().replace('_', ' '))
+                    .collect(Collectors.joining(", ")));
     }
 
     private void saveBigMenu() {
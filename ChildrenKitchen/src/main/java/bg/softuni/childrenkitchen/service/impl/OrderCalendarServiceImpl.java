@@ -0,0 +1,58 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.event.OrderChangedEvent;
+import bg.softuni.childrenkitchen.model.event.RetentionPurgedEvent;
+import bg.softuni.childrenkitchen.model.view.OrderCalendarViewModel;
+import bg.softuni.childrenkitchen.repository.OrderRepository;
+import bg.softuni.childrenkitchen.service.interfaces.OrderCalendarService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@Service
+public class OrderCalendarServiceImpl implements OrderCalendarService {
+    private final OrderRepository orderRepository;
+
+    public OrderCalendarServiceImpl(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    //parents look at the months around the current one, only those are cached so the cache stays at three months per child
+    @Override
+    @Cacheable(cacheNames = "orderCalendars", key = "#childId + ':' + #month",
+            condition = "T(java.lang.Math).abs(T(java.time.temporal.ChronoUnit).MONTHS.between(T(java.time.YearMonth).now(), #month)) <= 1")
+    public OrderCalendarViewModel getOrderCalendar(Long childId, YearMonth month) {
+        int orderedDays = 0;
+
+        for (LocalDate date : orderRepository.findDatesByChildIdAndDateBetween(childId, month.atDay(1), month.atEndOfMonth())) {
+            orderedDays |= 1 << (date.getDayOfMonth() - 1);
+        }
+
+        return new OrderCalendarViewModel().setChildId(childId)
+                                           .setMonth(month)
+                                           .setDaysInMonth(month.lengthOfMonth())
+                                           .setOrderedDays(orderedDays);
+    }
+
+    //only the month of the changed order is recomputed, the other months of the child stay cached
+    @CacheEvict(cacheNames = "orderCalendars", key = "#event.childId + ':' + T(java.time.YearMonth).from(#event.date)")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+    }
+
+    @CacheEvict(cacheNames = "orderCalendars", allEntries = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRetentionPurged(RetentionPurgedEvent event) {
+    }
+
+    //a new month moves the cached window, the months left behind are dropped with the rest
+    @CacheEvict(cacheNames = "orderCalendars", allEntries = true)
+    @Scheduled(cron = "0 0 0 1 * *")
+    public void evictPastMonths() {
+    }
+}
@@ -0,0 +1,125 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.binding.AdminSearchBindingModel;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergyEnum;
+import bg.softuni.childrenkitchen.model.view.OrderExportRow;
+import bg.softuni.childrenkitchen.repository.OrderRepository;
+import bg.softuni.childrenkitchen.service.interfaces.OrderExportService;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+    private static final String[] HEADERS = {"Дата", "Пункт", "Дете", "Възрастова група", "Родител", "Алергия"};
+    private static final int ROWS_IN_MEMORY = 100;
+
+    private final OrderRepository orderRepository;
+
+    public OrderExportServiceImpl(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCsv(AdminSearchBindingModel adminSearchBindingModel, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        //BOM, so Excel opens the cyrillic text correctly
+        writer.write('\uFEFF');
+        writer.write(String.join(",", HEADERS));
+        writer.write("\r\n");
+
+        try (Stream<OrderExportRow> rows = streamRows(adminSearchBindingModel)) {
+            for (OrderExportRow row : (Iterable<OrderExportRow>) rows::iterator) {
+                writer.write(row.getDate().toString());
+                writer.write(',');
+                writer.write(escapeCsv(row.getServicePoint()));
+                writer.write(',');
+                writer.write(escapeCsv(row.getChildFullName()));
+                writer.write(',');
+                writer.write(row.getAgeGroup().name());
+                writer.write(',');
+                writer.write(escapeCsv(row.getUserEmail()));
+                writer.write(',');
+                writer.write(row.isAllergic() ? "ДА" : "НЕ");
+                writer.write("\r\n");
+            }
+        }
+
+        writer.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportXlsx(AdminSearchBindingModel adminSearchBindingModel, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROWS_IN_MEMORY);
+
+        try (Stream<OrderExportRow> rows = streamRows(adminSearchBindingModel)) {
+            Sheet sheet = workbook.createSheet("Заявки");
+
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.mm.yyyy"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+
+            int rowIndex = 1;
+            for (OrderExportRow row : (Iterable<OrderExportRow>) rows::iterator) {
+                Row excelRow = sheet.createRow(rowIndex++);
+                excelRow.createCell(0).setCellValue(row.getDate());
+                excelRow.getCell(0).setCellStyle(dateStyle);
+                excelRow.createCell(1).setCellValue(row.getServicePoint());
+                excelRow.createCell(2).setCellValue(row.getChildFullName());
+                excelRow.createCell(3).setCellValue(row.getAgeGroup().name());
+                excelRow.createCell(4).setCellValue(row.getUserEmail());
+                excelRow.createCell(5).setCellValue(row.isAllergic() ? "ДА" : "НЕ");
+            }
+
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private Stream<OrderExportRow> streamRows(AdminSearchBindingModel adminSearchBindingModel) {
+        String servicePoint = adminSearchBindingModel.getServicePoint();
+        String ageGroup = adminSearchBindingModel.getAgeGroup();
+
+        Set<AgeGroupEnum> ageGroups = ageGroup.equals("All")
+                ? EnumSet.allOf(AgeGroupEnum.class)
+                : EnumSet.of(AgeGroupEnum.valueOf(ageGroup));
+
+        return orderRepository.streamExportRows(adminSearchBindingModel.getFromDate(),
+                adminSearchBindingModel.getToDate(),
+                servicePoint.equals("All"),
+                servicePoint,
+                ageGroups,
+                AllergyEnum.НЯМА);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,107 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.entity.OrderEntity;
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergyEnum;
+import bg.softuni.childrenkitchen.model.view.OrderReferenceCount;
+import bg.softuni.childrenkitchen.repository.OrderDailyRollupRepository;
+import bg.softuni.childrenkitchen.repository.OrderRepository;
+import bg.softuni.childrenkitchen.service.interfaces.OrderRollupService;
+import bg.softuni.childrenkitchen.service.reference.AdminReferenceCache;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class OrderRollupServiceImpl implements OrderRollupService {
+    private final OrderDailyRollupRepository rollupRepository;
+    private final OrderRepository orderRepository;
+    private final AdminReferenceCache adminReferenceCache;
+
+    public OrderRollupServiceImpl(OrderDailyRollupRepository rollupRepository, OrderRepository orderRepository, AdminReferenceCache adminReferenceCache) {
+        this.rollupRepository = rollupRepository;
+        this.orderRepository = orderRepository;
+        this.adminReferenceCache = adminReferenceCache;
+    }
+
+    @Override
+    public void initDB() {
+        if (rollupRepository.count() > 0 || orderRepository.count() == 0) {
+            return;
+        }
+
+        rebuild();
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void addOrder(OrderEntity order) {
+        long allergic = order.getChild().isAllergic() ? 1 : 0;
+
+        rollupRepository.upsertCounters(order.getDate(), order.getServicePoint().getId(), order.getChild().getAgeGroup().name(), 1, allergic);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void removeOrder(OrderEntity order) {
+        removeOrder(order.getDate(), order.getServicePoint().getId(), order.getChild().getAgeGroup(), order.getChild().isAllergic());
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void removeOrder(LocalDate date, Long servicePointId, AgeGroupEnum ageGroup, boolean allergic) {
+        rollupRepository.addToCounters(date, servicePointId, ageGroup, -1, allergic ? -1 : 0);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void removeAllOrders(PointEntity servicePoint, Collection<LocalDate> dates) {
+        rollupRepository.resetCounters(servicePoint, dates);
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        rollupRepository.deleteAllInBatch();
+        int rows = rollupRepository.insertFromOrders(AllergyEnum.НЯМА);
+
+        //the cached references were built from the old counters, they are dropped once the new ones are visible
+        //so a reference loaded from the old counters during the rebuild is not stored after the eviction
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adminReferenceCache.evictAll();
+                }
+            });
+        } else {
+            adminReferenceCache.evictAll();
+        }
+
+        return rows;
+    }
+
+    @Override
+    public List<OrderReferenceCount> getReferenceCounts(LocalDate from, LocalDate to, String servicePoint, String ageGroup) {
+
+        if (ageGroup.equals("All") && servicePoint.equals("All")) {
+            return rollupRepository.countByDateBetween(from, to);
+        }
+
+        if (!ageGroup.equals("All") && servicePoint.equals("All")) {
+            return rollupRepository.countByDateBetweenAndAgeGroup(from, to, AgeGroupEnum.valueOf(ageGroup));
+        }
+
+        if (ageGroup.equals("All")) {
+            return rollupRepository.countByDateBetweenAndServicePoint(from, to, servicePoint);
+        }
+
+        return rollupRepository.countByDateBetweenAndServicePointAndAgeGroup(from, to, servicePoint, AgeGroupEnum.valueOf(ageGroup));
+    }
+}
@@ -1,17 +1,31 @@
 package bg.softuni.childrenkitchen.service.impl;
 
+import bg.softuni.childrenkitchen.exception.DuplicateOrderException;
+import bg.softuni.childrenkitchen.exception.HolidayOrderException;
 import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
 import bg.softuni.childrenkitchen.model.view.ReferenceViewModel;
 import bg.softuni.childrenkitchen.model.binding.AdminSearchBindingModel;
 import bg.softuni.childrenkitchen.model.entity.ChildEntity;
+import bg.softuni.childrenkitchen.model.entity.CouponEntity;
 import bg.softuni.childrenkitchen.model.entity.OrderEntity;
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
 import bg.softuni.childrenkitchen.model.entity.UserEntity;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergyEnum;
+import bg.softuni.childrenkitchen.model.event.OrderChangedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderDeletedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderPlacedEvent;
 import bg.softuni.childrenkitchen.model.view.*;
 import bg.softuni.childrenkitchen.repository.OrderRepository;
 import bg.softuni.childrenkitchen.service.interfaces.*;
+import bg.softuni.childrenkitchen.service.reference.AdminReferenceCache;
+import bg.softuni.childrenkitchen.service.reference.OrderReferenceAggregator;
+import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.modelmapper.ModelMapper;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -26,21 +40,36 @@ public class OrderServiceImpl implements OrderService {
     private final MenuService menuService;
     private final CouponService couponService;
     private final PointService pointService;
+    private final OrderRollupService orderRollupService;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final WorkingDayService workingDayService;
+    private final AdminReferenceCache adminReferenceCache;
+    private final PointCapacityService pointCapacityService;
 
 
-    public OrderServiceImpl(OrderRepository orderRepository, UserService userService, MenuService menuService, CouponService couponService, PointService pointService, ModelMapper modelMapper) {
+    public OrderServiceImpl(OrderRepository orderRepository, UserService userService, MenuService menuService, CouponService couponService, PointService pointService, OrderRollupService orderRollupService, ModelMapper modelMapper, ApplicationEventPublisher applicationEventPublisher, WorkingDayService workingDayService, AdminReferenceCache adminReferenceCache, PointCapacityService pointCapacityService) {
         this.orderRepository = orderRepository;
         this.userService = userService;
         this.menuService = menuService;
         this.couponService = couponService;
         this.pointService = pointService;
+        this.orderRollupService = orderRollupService;
         this.modelMapper = modelMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.workingDayService = workingDayService;
+        this.adminReferenceCache = adminReferenceCache;
+        this.pointCapacityService = pointCapacityService;
     }
 
     @Override
     public void initDB() {
 
+        //the grouped backfill only runs while orders from before the primary flag are left
+        if (!orderRepository.findUnmarkedOrderIds(PageRequest.of(0, 1)).isEmpty()) {
+            orderRepository.markPrimaryOrders(orderRepository.findFirstIdsOfUnmarkedDays());
+        }
+
         if (orderRepository.count() > 0) {
             return;
         }
@@ -86,236 +115,145 @@ public class OrderServiceImpl implements OrderService {
                                    .getServicePoint());
         order.setDate(order.getCoupon()
                            .getVerifiedDate());
+        order.setPrimaryOrder(true);
 
     }
 
     @Override
     public List<ReferenceViewModel> getAdminReference(AdminSearchBindingModel adminSearchBindingModel) {
+        return adminReferenceCache.get(adminSearchBindingModel, () -> buildAdminReference(adminSearchBindingModel));
+    }
+
+    private List<ReferenceViewModel> buildAdminReference(AdminSearchBindingModel adminSearchBindingModel) {
         LocalDate fromDate = adminSearchBindingModel.getFromDate();
         LocalDate toDate = adminSearchBindingModel.getToDate();
-        List<OrderEntity> allOrderEntities = orderRepository.findAllByDateBetween(fromDate, toDate);
+        String servicePoint = adminSearchBindingModel.getServicePoint();
+        String ageGroup = adminSearchBindingModel.getAgeGroup();
+
+        OrderReferenceAggregator aggregator = new OrderReferenceAggregator();
 
-        allOrderEntities = filterByAssignment(allOrderEntities, adminSearchBindingModel.getServicePoint(), adminSearchBindingModel.getAgeGroup());
+        orderRollupService.getReferenceCounts(fromDate, toDate, servicePoint, ageGroup)
+                .forEach(count -> aggregator.add(count.getPoint(), count.getAgeGroup(), count.getTotalCount(), count.getAllergicCount()));
+
+        findAllergicChildren(fromDate, toDate, servicePoint)
+                .stream()
+                .filter(child -> ageGroup.equals("All") || child.getAgeGroup()
+                                                                .name()
+                                                                .equals(ageGroup))
+                .forEach(aggregator::addAllergicChild);
 
         List<ReferenceViewModel> viewModel;
 
-        if (!adminSearchBindingModel.getServicePoint().equals("All")) {
+        if (!servicePoint.equals("All")) {
             //sort by ageGroup
-            viewModel = createListByAgeGroups(allOrderEntities, adminSearchBindingModel);
+            viewModel = createListByAgeGroups(aggregator, adminSearchBindingModel);
 
         } else {
             //sort by servicePoint
-            viewModel = createListByPoints(allOrderEntities, adminSearchBindingModel);
+            viewModel = createListByPoints(aggregator, adminSearchBindingModel);
         }
 
         return viewModel;
     }
 
-    private List<ReferenceViewModel> createListByPoints(List<OrderEntity> allOrderEntities, AdminSearchBindingModel adminSearchBindingModel) {
-
-        List<String> allPointsWithOrders = allOrderEntities.stream().map(o->o.getServicePoint().getName())
-                .distinct().toList();
+    private List<ReferenceViewModel> createListByPoints(OrderReferenceAggregator aggregator, AdminSearchBindingModel adminSearchBindingModel) {
 
         List<ReferenceViewModel> toReturn = new ArrayList<>();
 
-        allPointsWithOrders.forEach(point -> {
+        aggregator.getPoints().forEach(point -> {
             ReferenceViewModel viewModel = new ReferenceViewModel();
             viewModel.setFromDate(adminSearchBindingModel.getFromDate());
             viewModel.setToDate(adminSearchBindingModel.getToDate());
             viewModel.setAgeGroup(null);
             viewModel.setPoint(point);
-            viewModel.setCountSmallOrders(allOrderEntities.stream()
-                                                          .filter(o->o.getChild().getAgeGroup().name()
-                                                                      .equals(AgeGroupEnum.МАЛКИ.name()))
-                                                          .filter(o->o.getServicePoint().getName().equals(point))
-                                                            .toList().size());
-            viewModel.setCountBigOrders(allOrderEntities.stream()
-                                                        .filter(o->o.getChild().getAgeGroup().name()
-                                                                    .equals(AgeGroupEnum.ГОЛЕМИ.name()))
-                                                        .filter(o->o.getServicePoint().getName().equals(point))
-                                                        .toList().size());
+            viewModel.setCountSmallOrders(aggregator.countOrders(point, AgeGroupEnum.МАЛКИ));
+            viewModel.setCountBigOrders(aggregator.countOrders(point, AgeGroupEnum.ГОЛЕМИ));
             viewModel.setTotalCountOrders(viewModel.getCountSmallOrders() + viewModel.getCountBigOrders());
-
-            viewModel.setCountAllergicOrders(allOrderEntities.stream()
-                                                             .filter(o->o.getServicePoint().getName().equals(point))
-                                                             .map(OrderEntity::getChild)
-                                                             .filter(ChildEntity::isAllergic)
-                                                              .toList().size());
+            viewModel.setCountAllergicOrders(aggregator.countAllergicOrders(point));
 
             toReturn.add(viewModel);
         });
 
-        toReturn.get(0).setAllAllergicChildren(allOrderEntities.stream().map(OrderEntity::getChild)
-                .filter(ChildEntity::isAllergic)
-                        .distinct()
-                .map(this::mapToAllergicChildViewModel)
-                .collect(Collectors.toList())
-        );
+        if (!toReturn.isEmpty()) {
+            toReturn.get(0).setAllAllergicChildren(aggregator.getAllergicChildren()
+                                                             .stream()
+                                                             .map(this::mapToAllergicChildViewModel)
+                                                             .collect(Collectors.toList()));
+        }
 
         return toReturn;
     }
 
-    private List<ReferenceViewModel> createListByAgeGroups(List<OrderEntity> allOrderEntities, AdminSearchBindingModel adminSearchBindingModel) {
+    private List<ReferenceViewModel> createListByAgeGroups(OrderReferenceAggregator aggregator, AdminSearchBindingModel adminSearchBindingModel) {
         String ageGroup = adminSearchBindingModel.getAgeGroup();
 
         List<ReferenceViewModel> list;
 
         if (ageGroup.equals("All")) {
             //2 models
-            list = createListFromAllAgeGroups(allOrderEntities, adminSearchBindingModel);
+            list = createListFromAllAgeGroups(aggregator, adminSearchBindingModel);
 
         } else {
             //1 model
-            list = createListFromOneAgeGroup(allOrderEntities, adminSearchBindingModel);
+            list = createListFromOneAgeGroup(aggregator, adminSearchBindingModel);
         }
 
         return list;
     }
 
-    private List<ReferenceViewModel> createListFromOneAgeGroup(List<OrderEntity> allOrderEntities, AdminSearchBindingModel adminSearchBindingModel) {
-        String ageGroup = adminSearchBindingModel.getAgeGroup();
-        String servicePoint = adminSearchBindingModel.getServicePoint();
-        LocalDate from = adminSearchBindingModel.getFromDate();
-        LocalDate to = adminSearchBindingModel.getToDate();
+    private List<ReferenceViewModel> createListFromOneAgeGroup(OrderReferenceAggregator aggregator, AdminSearchBindingModel adminSearchBindingModel) {
+        AgeGroupEnum ageGroup = AgeGroupEnum.valueOf(adminSearchBindingModel.getAgeGroup());
 
         List<ReferenceViewModel> list = new ArrayList<>();
-
-        ReferenceViewModel viewModel = new ReferenceViewModel();
-        viewModel.setAgeGroup(ageGroup.equals("МАЛКИ") ? "Small" : "Big");
-        viewModel.setPoint(servicePoint);
-        viewModel.setFromDate(from);
-        viewModel.setToDate(to);
-
-        if (ageGroup.equals(AgeGroupEnum.МАЛКИ.name())) {
-            viewModel.setCountBigOrders(0);
-            viewModel.setCountSmallOrders(allOrderEntities.size());
-        } else {
-            viewModel.setCountSmallOrders(0);
-            viewModel.setCountBigOrders(allOrderEntities.size());
-        }
-
-        viewModel.setTotalCountOrders(viewModel.getCountSmallOrders() + viewModel.getCountBigOrders());
-
-        viewModel.setCountAllergicOrders(allOrderEntities.stream()
-                                                         .map(OrderEntity::getChild)
-                                                         .filter(ChildEntity::isAllergic)
-                                                         .toList()
-                                                         .size()
-        );
-
-
-        viewModel.setAllAllergicChildren(allOrderEntities.stream()
-                                                         .map(OrderEntity::getChild)
-                                                         .filter(ChildEntity::isAllergic)
-                                                         .distinct()
-                                                         .map(this::mapToAllergicChildViewModel)
-                                                         .toList()
-
-        );
-
-        list.add(viewModel);
+        list.add(createAgeGroupViewModel(aggregator, adminSearchBindingModel, ageGroup));
 
         return list;
     }
 
-    private List<ReferenceViewModel> createListFromAllAgeGroups(List<OrderEntity> allOrderEntities, AdminSearchBindingModel adminSearchBindingModel) {
-        String servicePoint = adminSearchBindingModel.getServicePoint();
-        LocalDate from = adminSearchBindingModel.getFromDate();
-        LocalDate to = adminSearchBindingModel.getToDate();
-
+    private List<ReferenceViewModel> createListFromAllAgeGroups(OrderReferenceAggregator aggregator, AdminSearchBindingModel adminSearchBindingModel) {
         List<ReferenceViewModel> list = new ArrayList<>();
 
-        Arrays.stream(AgeGroupEnum.values()).map(AgeGroupEnum::name)
-                .forEach(age -> {
-                    ReferenceViewModel view = new ReferenceViewModel();
-                    view.setAgeGroup(age.equals("МАЛКИ") ? "Small" : "Big");
-                    view.setPoint(servicePoint);
-                    view.setFromDate(from);
-                    view.setToDate(to);
-
-                    if (age.equals(AgeGroupEnum.МАЛКИ.name())){
-                        view.setCountBigOrders(0);
-                        view.setCountSmallOrders(allOrderEntities.stream()
-                                                                 .filter(o -> o.getChild()
-                                                                               .getAgeGroup()
-                                                                               .name()
-                                                                               .equals(age))
-                                                                 .toList()
-                                                                 .size());
-                    }else{
-                        view.setCountSmallOrders(0);
-                        view.setCountBigOrders(allOrderEntities.stream()
-                                                               .filter(o -> o.getChild()
-                                                                             .getAgeGroup()
-                                                                             .name()
-                                                                             .equals(age))
-                                                               .toList()
-                                                               .size());
-                    }
-
-                    view.setTotalCountOrders(view.getCountSmallOrders() + view.getCountBigOrders());
-                    view.setCountAllergicOrders(allOrderEntities.stream()
-                                                                 .map(OrderEntity::getChild)
-                                                                 .filter(ChildEntity::isAllergic)
-                                                                 .filter(c -> c.getAgeGroup()
-                                                                               .name()
-                                                                               .equals(age))
-                                                                 .toList()
-                                                                 .size());
-
-                    view.setAllAllergicChildren(allOrderEntities.stream()
-                                                                 .map(OrderEntity::getChild)
-                                                                 .filter(ChildEntity::isAllergic)
-                                                                 .filter(c -> c.getAgeGroup()
-                                                                               .name()
-                                                                               .equals(age))
-                                                                 .distinct()
-                                                                 .map(this::mapToAllergicChildViewModel)
-                                                                 .toList());
-
-                    list.add(view);
-                });
+        for (AgeGroupEnum ageGroup : AgeGroupEnum.values()) {
+            list.add(createAgeGroupViewModel(aggregator, adminSearchBindingModel, ageGroup));
+        }
 
         return list;
     }
 
+    private ReferenceViewModel createAgeGroupViewModel(OrderReferenceAggregator aggregator, AdminSearchBindingModel adminSearchBindingModel, AgeGroupEnum ageGroup) {
+        ReferenceViewModel view = new ReferenceViewModel();
+        view.setAgeGroup(ageGroup == AgeGroupEnum.МАЛКИ ? "Small" : "Big");
+        view.setPoint(adminSearchBindingModel.getServicePoint());
+        view.setFromDate(adminSearchBindingModel.getFromDate());
+        view.setToDate(adminSearchBindingModel.getToDate());
 
-    private List<OrderEntity> filterByAssignment(List<OrderEntity> allOrderEntities, String servicePoint, String ageGroup) {
+        int count = aggregator.countOrders(ageGroup);
 
-        if (ageGroup.equals("All") && servicePoint.equals("All")) {
-            return allOrderEntities;
+        if (ageGroup == AgeGroupEnum.МАЛКИ) {
+            view.setCountBigOrders(0);
+            view.setCountSmallOrders(count);
+        } else {
+            view.setCountSmallOrders(0);
+            view.setCountBigOrders(count);
         }
 
-        if (!ageGroup.equals("All") && servicePoint.equals("All")) {
-            return allOrderEntities.stream()
-                                   .filter(o -> o.getChild()
-                                                 .getAgeGroup()
-                                                 .name()
-                                                 .equals(ageGroup))
-                                   .toList();
-        }
+        view.setTotalCountOrders(view.getCountSmallOrders() + view.getCountBigOrders());
+        view.setCountAllergicOrders(aggregator.countAllergicOrders(ageGroup));
+        view.setAllAllergicChildren(aggregator.getAllergicChildren(ageGroup)
+                                              .stream()
+                                              .map(this::mapToAllergicChildViewModel)
+                                              .toList());
 
-        if (ageGroup.equals("All") && !servicePoint.equals("All")) {
-            return allOrderEntities.stream()
-                                   .filter(o -> o.getServicePoint()
-                                                 .getName()
-                                                 .equals(servicePoint))
-                                   .toList();
-        }
+        return view;
+    }
 
-        if (!ageGroup.equals("All") && !servicePoint.equals("All")) {
-            return allOrderEntities.stream()
-                                   .filter(o -> o.getServicePoint()
-                                                 .getName()
-                                                 .equals(servicePoint)
-                                           && o.getChild()
-                                               .getAgeGroup()
-                                               .name()
-                                               .equals(ageGroup))
-                                   .toList();
+    private List<ChildEntity> findAllergicChildren(LocalDate from, LocalDate to, String servicePoint) {
+
+        if (servicePoint.equals("All")) {
+            return orderRepository.findAllergicChildrenByDateBetween(from, to, AllergyEnum.НЯМА);
         }
 
-        return allOrderEntities;
+        return orderRepository.findAllergicChildrenByDateBetweenAndServicePoint(from, to, servicePoint, AllergyEnum.НЯМА);
     }
 
 
@@ -331,8 +269,13 @@ public class OrderServiceImpl implements OrderService {
 
 
     @Override
+    @Transactional
     public OrderViewModel makeOrder(LocalDate date, String servicePointName, String userEmail, String childFullName, String loggedInUserEmail) {
 
+        if (workingDayService.isHoliday(date)) {
+            throw new HolidayOrderException();
+        }
+
         UserEntity loggedInUser = userService.getByEmail(loggedInUserEmail)
                                              .orElseThrow(ObjectNotFoundException::new);
 
@@ -343,26 +286,42 @@ public class OrderServiceImpl implements OrderService {
                                         .orElseThrow(ObjectNotFoundException::new);
         }
 
-        //only admin may add more than one order per day
-        if (!userService.isAdmin(loggedInUser)) {
-            List<OrderEntity> allByDate = orderRepository.findAllByDateAndChildFullName(date, childFullName);
-            if (!allByDate.isEmpty()) {
-                return null;
-            }
+        ChildEntity child = userService.getChildByNames(childFullName, userEmail);
+
+        //only admin may add more than one order per day, checked before a coupon and a portion are taken,
+        //the unique key on the primary order only catches a concurrent submit
+        boolean primaryOrder = !orderRepository.existsByChildIdAndDate(child.getId(), date);
+
+        if (!primaryOrder && !userService.isAdmin(loggedInUser)) {
+            throw new DuplicateOrderException();
         }
 
+        PointEntity servicePoint = pointService.getByName(servicePointName)
+                                               .orElseThrow(ObjectNotFoundException::new);
+
+        pointCapacityService.reserve(servicePoint, List.of(date));
+
         OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setPrimaryOrder(primaryOrder ? true : null);
         orderEntity.setDate(date);
-        orderEntity.setServicePoint(pointService.getByName(servicePointName)
-                                                .orElseThrow(ObjectNotFoundException::new));
+        orderEntity.setServicePoint(servicePoint);
 
         orderEntity.setUser(userToAddOrder);
 
         orderEntity.setCoupon(couponService.getAndVerifyCoupon(userEmail, childFullName, date));
 
-        orderEntity.setChild(userService.getChildByNames(childFullName, userEmail));
+        orderEntity.setChild(child);
+
+        OrderEntity saved;
+        try {
+            saved = orderRepository.saveAndFlush(orderEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw isDuplicateOrder(e) ? new DuplicateOrderException() : e;
+        }
+
+        orderRollupService.addOrder(saved);
 
-        OrderEntity saved = orderRepository.save(orderEntity);
+        publishOrderChange(new OrderPlacedEvent(this), saved);
 
         OrderViewModel orderViewModel = new OrderViewModel();
         orderViewModel.setChildNames(saved.getChild()
@@ -390,106 +349,230 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<LocalDate> getOrdersDateOfChild(String childName, String userEmail) {
+    @Transactional
+    public List<OrderViewModel> makeOrders(Set<LocalDate> dates, String servicePointName, String userEmail, String childFullName, String loggedInUserEmail) {
 
-        List<OrderEntity> allByChildFullName = orderRepository.findAllByChildFullName(childName);
+        if (dates.stream().anyMatch(workingDayService::isHoliday)) {
+            throw new HolidayOrderException();
+        }
 
-        return allByChildFullName.stream()
-                                 .map(OrderEntity::getDate)
-                                 .collect(Collectors.toList());
-    }
+        UserEntity loggedInUser = userService.getByEmail(loggedInUserEmail)
+                                             .orElseThrow(ObjectNotFoundException::new);
 
-    @Override
-    public void deleteOrder(LocalDate deleteOrderDate, String childName) {
-        List<OrderEntity> ordersToDelete = orderRepository.findAllByChildFullNameAndDate(childName, deleteOrderDate);
+        UserEntity userToAddOrder = loggedInUser;
 
-        if (ordersToDelete.isEmpty()) {
-            throw new ObjectNotFoundException();
+        if (!userEmail.equals(loggedInUserEmail)) {
+            userToAddOrder = userService.getByEmail(userEmail)
+                                        .orElseThrow(ObjectNotFoundException::new);
         }
 
-        if (ordersToDelete.size() == 1) {
-            couponService.unverifiedCoupon(ordersToDelete.get(0)
-                                                         .getCoupon()
-                                                         .getId());
-            orderRepository.delete(ordersToDelete.get(0));
-        } else {
-            OrderEntity toDelete = ordersToDelete.get(ordersToDelete.size() - 1);
-            couponService.unverifiedCoupon(toDelete.getCoupon()
-                                                   .getId());
-            orderRepository.delete(toDelete);
+        ChildEntity child = userToAddOrder.getChildren()
+                                          .stream()
+                                          .filter(c -> c.getFullName()
+                                                        .equals(childFullName))
+                                          .findFirst()
+                                          .orElseThrow(ObjectNotFoundException::new);
+
+        PointEntity servicePoint = pointService.getByName(servicePointName)
+                                               .orElseThrow(ObjectNotFoundException::new);
+
+        List<LocalDate> datesToOrder = new ArrayList<>(new TreeSet<>(dates));
+
+        List<LocalDate> orderedDates = orderRepository.findDatesByChildIdAndDateIn(child.getId(), datesToOrder);
+
+        //only admin may add more than one order per day, the extra ones are not primary
+        if (!userService.isAdmin(loggedInUser)) {
+            datesToOrder.removeAll(orderedDates);
+        }
+
+        if (datesToOrder.isEmpty()) {
+            return new ArrayList<>();
         }
 
+        pointCapacityService.reserve(servicePoint, datesToOrder);
+
+        List<CouponEntity> coupons = couponService.getAndVerifyCoupons(child, datesToOrder);
+
+        Map<Boolean, List<Long>> couponIdsByPrimary = coupons.stream()
+                                                             .collect(Collectors.partitioningBy(c -> !orderedDates.contains(c.getVerifiedDate()),
+                                                                     Collectors.mapping(CouponEntity::getId, Collectors.toList())));
+
+        try {
+            for (Map.Entry<Boolean, List<Long>> group : couponIdsByPrimary.entrySet()) {
+                if (!group.getValue().isEmpty()) {
+                    orderRepository.insertAllForCoupons(group.getValue(), userToAddOrder.getId(), servicePoint.getId(), group.getKey());
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            //a concurrent submit got the same day first
+            throw isDuplicateOrder(e) ? new DuplicateOrderException() : e;
+        }
+
+        Map<LocalDate, MenuViewModel> menus = menuService.getMenuViewModelsByDatesAndAgeGroup(datesToOrder, child.getAgeGroup());
+        int remainingCoupons = couponService.countFreeCoupons(child.getId());
+
+        List<OrderViewModel> orders = new ArrayList<>();
+
+        for (CouponEntity coupon : coupons) {
+            OrderEntity order = new OrderEntity();
+            order.setDate(coupon.getVerifiedDate());
+            order.setUser(userToAddOrder);
+            order.setChild(child);
+            order.setCoupon(coupon);
+            order.setServicePoint(servicePoint);
+
+            orderRollupService.addOrder(order);
+            publishOrderChange(new OrderPlacedEvent(this), order);
+
+            OrderViewModel orderViewModel = new OrderViewModel();
+            orderViewModel.setChildNames(child.getFullName());
+            orderViewModel.setServicePointName(servicePoint.getName());
+            orderViewModel.setDate(order.getDate()
+                                        .format(DateTimeFormatter.ofPattern("dd LLLL yyyy")));
+            orderViewModel.setMenuViewModel(menus.get(order.getDate()));
+            orderViewModel.setRemainingCouponsCount(remainingCoupons);
+
+            orders.add(orderViewModel);
+        }
+
+        return orders;
+    }
+
+    @Override
+    public List<LocalDate> getOrdersDateOfChild(String childName, String userEmail) {
+        return getOrdersDateOfChild(userService.getChildByNames(childName, userEmail)
+                                               .getId());
+    }
+
+    @Override
+    public List<LocalDate> getOrdersDateOfChild(Long childId) {
+        return orderRepository.findDatesByChildId(childId);
+    }
+
+    @Override
+    @Transactional
+    public Long deleteOrder(Long childId, LocalDate deleteOrderDate) {
+        //a projection instead of the entity graph, mysql has no DELETE ... RETURNING for the coupon id
+        DeletedOrderRow toDelete = orderRepository.findDeletedOrderRows(childId, deleteOrderDate, AllergyEnum.НЯМА, PageRequest.of(0, 1))
+                                                  .stream()
+                                                  .findFirst()
+                                                  .orElseThrow(ObjectNotFoundException::new);
+
+        orderRepository.deleteAllByIdIn(List.of(toDelete.getOrderId()));
+        couponService.unverifiedCoupon(toDelete.getCouponId());
+        orderRollupService.removeOrder(toDelete.getDate(), toDelete.getServicePointId(), toDelete.getAgeGroup(), toDelete.isAllergic());
+
+        applicationEventPublisher.publishEvent(new OrderDeletedEvent(this).setDate(toDelete.getDate())
+                                                                          .setChildId(toDelete.getChildId())
+                                                                          .setServicePointId(toDelete.getServicePointId())
+                                                                          .setServicePointName(toDelete.getServicePointName())
+                                                                          .setAgeGroup(toDelete.getAgeGroup())
+                                                                          .setAllergic(toDelete.isAllergic()));
+
+        return toDelete.getCouponId();
+    }
+
+    @Override
+    @Transactional
+    public PointClosureViewModel closePoint(String servicePointName, Set<LocalDate> dates) {
+        PointEntity servicePoint = pointService.getByName(servicePointName)
+                                               .orElseThrow(ObjectNotFoundException::new);
+
+        List<ClosedOrderRow> closedOrders = orderRepository.findClosedOrderRows(servicePoint.getId(), dates, AllergyEnum.НЯМА);
+
+        //two set-based statements instead of one coupon release and one delete per order, the coupons go first while the orders still point to them
+        int releasedCoupons = couponService.releaseCoupons(servicePoint.getId(), dates);
+        int cancelledOrders = orderRepository.deleteAllByServicePointIdAndDateIn(servicePoint.getId(), dates);
+
+        orderRollupService.removeAllOrders(servicePoint, dates);
+
+        closedOrders.forEach(order -> applicationEventPublisher.publishEvent(new OrderDeletedEvent(this).setDate(order.getDate())
+                                                                                                          .setChildId(order.getChildId())
+                                                                                                          .setServicePointId(servicePoint.getId())
+                                                                                                          .setServicePointName(servicePoint.getName())
+                                                                                                          .setAgeGroup(order.getAgeGroup())
+                                                                                                          .setAllergic(order.isAllergic())));
+
+        return new PointClosureViewModel().setServicePointName(servicePoint.getName())
+                                          .setDates(dates.stream().sorted().toList())
+                                          .setCancelledOrders(cancelledOrders)
+                                          .setReleasedCoupons(releasedCoupons)
+                                          .setAffectedChildren((int) closedOrders.stream()
+                                                                                 .map(ClosedOrderRow::getChildId)
+                                                                                 .distinct()
+                                                                                 .count());
     }
 
     @Override
     public List<OrderViewModel> getActiveOrders(String userEmail) {
-        Optional<List<OrderEntity>> allByUserEmail = orderRepository.findAllByUserEmail(userEmail);
+        List<ActiveOrderRow> activeOrders = orderRepository.findActiveOrderRows(userEmail, LocalDate.now());
 
-        if (allByUserEmail.isEmpty()) {
-            return new ArrayList<>();
-        }
+        //one menu query per age group instead of one per order
+        Map<AgeGroupEnum, Map<LocalDate, MenuViewModel>> menus = new EnumMap<>(AgeGroupEnum.class);
 
+        activeOrders.stream()
+                    .collect(Collectors.groupingBy(ActiveOrderRow::getAgeGroup,
+                            Collectors.mapping(ActiveOrderRow::getDate, Collectors.toSet())))
+                    .forEach((ageGroup, dates) -> menus.put(ageGroup, menuService.getMenuViewModelsByDatesAndAgeGroup(dates, ageGroup)));
 
-        List<OrderEntity> sorted = allByUserEmail.get()
-                                                 .stream()
-                                                 .filter(o -> o.getCoupon()
-                                                               .getVerifiedDate() != null
-                                                         &&
-                                                         o.getCoupon()
-                                                          .getVerifiedDate()
-                                                          .isAfter(LocalDate.now()
-                                                                            .minusDays(1L)))
-                                                 .sorted((a, b) -> b.getCoupon()
-                                                                    .getVerifiedDate()
-                                                                    .compareTo(a.getCoupon()
-                                                                                .getVerifiedDate()))
-                                                 .toList();
-
-        return sorted.stream()
-                     .map(this::mapToOrderViewModel)
-                     .collect(Collectors.toList());
+        return activeOrders.stream()
+                           .map(order -> mapToOrderViewModel(order, menus.get(order.getAgeGroup())
+                                                                         .get(order.getDate())))
+                           .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public void deleteAllOrderByUserId(Long userId) {
         List<OrderEntity> allByUserId = orderRepository.findAllByUserId(userId);
 
+        allByUserId.forEach(orderRollupService::removeOrder);
+
         orderRepository.deleteAll(allByUserId);
+
+        allByUserId.forEach(order -> publishOrderChange(new OrderDeletedEvent(this), order));
     }
 
 
-    @Scheduled(cron = "00 00 00 20 02 *")
-    public void yearlyDeleteOrdersOlderThanOneYear() {
-        List<OrderEntity> olderThanOneYear = orderRepository.findAll()
-                                                            .stream()
-                                                            .filter(order -> order.getCoupon()
-                                                                                  .getVerifiedDate()
-                                                                                  .isBefore(LocalDate.now()))
-                                                            .collect(Collectors.toList());
+    //only the one-order-per-day key means the day is taken, any other violation is a real error
+    private static boolean isDuplicateOrder(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName()
+                                .toLowerCase()
+                                .contains(OrderEntity.PRIMARY_ORDER_CONSTRAINT);
+            }
+        }
+
+        return false;
+    }
 
-        orderRepository.deleteAll(olderThanOneYear);
+    private void publishOrderChange(OrderChangedEvent event, OrderEntity order) {
+        event.setDate(order.getDate())
+             .setChildId(order.getChild()
+                              .getId())
+             .setServicePointId(order.getServicePoint()
+                                     .getId())
+             .setServicePointName(order.getServicePoint()
+                                       .getName())
+             .setAgeGroup(order.getChild()
+                               .getAgeGroup())
+             .setAllergic(order.getChild()
+                               .isAllergic());
+
+        applicationEventPublisher.publishEvent(event);
     }
 
-    private OrderViewModel mapToOrderViewModel(OrderEntity order) {
+    private OrderViewModel mapToOrderViewModel(ActiveOrderRow order, MenuViewModel menuViewModel) {
         OrderViewModel orderViewModel = new OrderViewModel();
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd LLLL yyyy");
 
         orderViewModel.setDate(order.getDate()
                                     .format(formatter));
-        orderViewModel.setChildNames(order.getChild()
-                                          .getFullName());
-        orderViewModel.setServicePointName(order.getServicePoint()
-                                                .getName());
-        orderViewModel.setRemainingCouponsCount(order.getChild()
-                                                     .getCoupons()
-                                                     .stream()
-                                                     .filter(c -> c.getVerifiedDate() == null)
-                                                     .toList()
-                                                     .size());
-
-        MenuViewModel menuViewModel = menuService.getMenuViewModelByDateAndAgeGroup(order.getDate(), order.getCoupon()
-                                                                                                          .getAgeGroup());
+        orderViewModel.setChildNames(order.getChildFullName());
+        orderViewModel.setServicePointName(order.getServicePointName());
+        orderViewModel.setRemainingCouponsCount(order.getRemainingCoupons());
         orderViewModel.setMenuViewModel(menuViewModel);
 
         return orderViewModel;
@@ -0,0 +1,144 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.exception.PointCapacityExceededException;
+import bg.softuni.childrenkitchen.model.entity.OrderDailyRollupEntity;
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
+import bg.softuni.childrenkitchen.model.event.OrderDeletedEvent;
+import bg.softuni.childrenkitchen.repository.OrderDailyRollupRepository;
+import bg.softuni.childrenkitchen.service.interfaces.PointCapacityService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class PointCapacityServiceImpl implements PointCapacityService {
+    private final OrderDailyRollupRepository rollupRepository;
+
+    //point id|date -> portions, every counter is its own stripe and is only changed atomically
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public PointCapacityServiceImpl(OrderDailyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    @Override
+    public void initDB() {
+        reconcile();
+    }
+
+    @Override
+    public void reserve(PointEntity servicePoint, Collection<LocalDate> dates) {
+        List<Counter> taken = new ArrayList<>();
+
+        for (LocalDate date : dates) {
+            Counter counter = counters.computeIfAbsent(key(servicePoint.getId(), date), k -> new Counter(date));
+
+            if (!counter.tryReserve(servicePoint.getDailyCapacity())) {
+                taken.forEach(c -> decrement(c.reserved));
+                throw new PointCapacityExceededException();
+            }
+            taken.add(counter);
+        }
+
+        //the portions go back when the order is not committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    taken.forEach(c -> {
+                        if (status == STATUS_COMMITTED) {
+                            c.committed.incrementAndGet();
+                        } else {
+                            decrement(c.reserved);
+                        }
+                    });
+                }
+            });
+        } else {
+            taken.forEach(c -> c.committed.incrementAndGet());
+        }
+    }
+
+    @Override
+    public int getReserved(Long servicePointId, LocalDate date) {
+        Counter counter = counters.get(key(servicePointId, date));
+        return counter == null ? 0 : counter.reserved.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderDeleted(OrderDeletedEvent event) {
+        Counter counter = counters.get(key(event.getServicePointId(), event.getDate()));
+
+        if (counter != null) {
+            decrement(counter.reserved);
+            decrement(counter.committed);
+        }
+    }
+
+    //At 03:00 every day the counters are corrected by the difference between the rollup and the committed portions,
+    //so the reservations of orders still in flight are kept. The committed portions are read before the rollup:
+    //an order committed in between is counted twice until the next run, never left out.
+    @Override
+    @Scheduled(cron = "00 00 03 * * *")
+    public synchronized void reconcile() {
+        LocalDate today = LocalDate.now();
+        counters.values().removeIf(counter -> counter.date.isBefore(today));
+
+        Map<String, Integer> differences = new HashMap<>();
+        counters.forEach((key, counter) -> differences.put(key, -counter.committed.get()));
+
+        Map<String, LocalDate> dates = new HashMap<>();
+        for (OrderDailyRollupEntity rollup : rollupRepository.findAllByDateFrom(today)) {
+            String key = key(rollup.getServicePoint().getId(), rollup.getDate());
+
+            differences.merge(key, (int) rollup.getTotal(), Integer::sum);
+            dates.put(key, rollup.getDate());
+        }
+
+        differences.forEach((key, difference) -> {
+            Counter counter = counters.computeIfAbsent(key, k -> new Counter(dates.get(k)));
+
+            counter.committed.updateAndGet(c -> Math.max(0, c + difference));
+            counter.reserved.updateAndGet(c -> Math.max(0, c + difference));
+        });
+    }
+
+    private static void decrement(AtomicInteger counter) {
+        counter.updateAndGet(c -> Math.max(0, c - 1));
+    }
+
+    private static String key(Long servicePointId, LocalDate date) {
+        return servicePointId + "|" + date;
+    }
+
+    //reserved holds the committed portions and the ones of orders in flight, only it is checked against the capacity
+    private static final class Counter {
+        private final LocalDate date;
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final AtomicInteger committed = new AtomicInteger();
+
+        private Counter(LocalDate date) {
+            this.date = date;
+        }
+
+        private boolean tryReserve(Integer capacity) {
+            while (true) {
+                int current = reserved.get();
+
+                if (capacity != null && current >= capacity) {
+                    return false;
+                }
+                if (reserved.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
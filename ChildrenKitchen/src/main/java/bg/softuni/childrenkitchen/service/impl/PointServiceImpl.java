@@ -1,9 +1,11 @@
 package bg.softuni.childrenkitchen.service.impl;
 
+import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
 import bg.softuni.childrenkitchen.model.entity.PointEntity;
 import bg.softuni.childrenkitchen.model.view.PointViewModel;
 import bg.softuni.childrenkitchen.repository.PointRepository;
 import bg.softuni.childrenkitchen.service.interfaces.PointService;
+import bg.softuni.childrenkitchen.service.version.DatasetVersions;
 import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -17,11 +19,13 @@ import java.util.stream.Collectors;
 public class PointServiceImpl implements PointService {
     private final PointRepository pointRepository;
     private final ModelMapper modelMapper;
+    private final DatasetVersions datasetVersions;
 
 
-    public PointServiceImpl(PointRepository pointRepository, ModelMapper modelMapper) {
+    public PointServiceImpl(PointRepository pointRepository, ModelMapper modelMapper, DatasetVersions datasetVersions) {
         this.pointRepository = pointRepository;
         this.modelMapper = modelMapper;
+        this.datasetVersions = datasetVersions;
     }
 
     @Override
@@ -124,4 +128,14 @@ public class PointServiceImpl implements PointService {
                        .map(entity-> modelMapper.map(entity, PointViewModel.class))
                 .collect(Collectors.toSet());
     }
+
+    @Override
+    public void setDailyCapacity(String pointName, Integer dailyCapacity) {
+        PointEntity point = pointRepository.findByName(pointName)
+                                           .orElseThrow(ObjectNotFoundException::new);
+
+        point.setDailyCapacity(dailyCapacity);
+        pointRepository.save(point);
+        datasetVersions.bump(DatasetVersions.Dataset.POINTS);
+    }
 }
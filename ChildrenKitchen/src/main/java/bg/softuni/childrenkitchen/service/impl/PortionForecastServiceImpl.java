@@ -0,0 +1,159 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.entity.PortionForecastEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.event.ForecastChangedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderChangedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderDeletedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderPlacedEvent;
+import bg.softuni.childrenkitchen.repository.OrderDailyRollupRepository;
+import bg.softuni.childrenkitchen.repository.PortionForecastRepository;
+import bg.softuni.childrenkitchen.service.interfaces.PortionForecastService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class PortionForecastServiceImpl implements PortionForecastService {
+    //weight of the newest day, roughly the last five same weekdays carry the forecast
+    private static final double ALPHA = 0.3;
+
+    private final PortionForecastRepository portionForecastRepository;
+    private final OrderDailyRollupRepository rollupRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    //point|weekday|age group -> exponentially weighted portions of the past days
+    private final Map<String, PortionForecastEntity> forecasts = new ConcurrentHashMap<>();
+    //date|point|age group -> portions of the days not folded into the forecast yet, kept up to date by the order events
+    private final Map<String, OpenDay> openDays = new ConcurrentHashMap<>();
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+    public PortionForecastServiceImpl(PortionForecastRepository portionForecastRepository, OrderDailyRollupRepository rollupRepository,
+                                      ApplicationEventPublisher applicationEventPublisher) {
+        this.portionForecastRepository = portionForecastRepository;
+        this.rollupRepository = rollupRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void initDB() {
+        portionForecastRepository.findAll()
+                                 .forEach(f -> forecasts.put(forecastKey(f.getServicePoint(), f.getDayOfWeek(), f.getAgeGroup()), f));
+
+        //the open days are taken once from the daily counters, the order history is never read
+        rollupRepository.findAllByDateFrom(LocalDate.now().minusDays(1))
+                        .forEach(r -> openDay(r.getDate(), r.getServicePoint().getName(), r.getAgeGroup()).portions.set(r.getTotal()));
+    }
+
+    @Override
+    public Map<String, Long> getPredictedPortions(LocalDate date) {
+        Map<String, Long> predicted = new TreeMap<>();
+
+        for (PortionForecastEntity forecast : forecasts.values()) {
+            if (forecast.getDayOfWeek() == date.getDayOfWeek()) {
+                predicted.merge(forecast.getServicePoint(), Math.round(forecast.getExpectedPortions()), Long::sum);
+            }
+        }
+
+        return predicted;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        count(event, 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderDeleted(OrderDeletedEvent event) {
+        count(event, -1);
+    }
+
+    //every 15 minutes the past days are folded into the forecast and the changed rows are saved
+    @Override
+    @Scheduled(fixedDelay = 15 * 60 * 1000)
+    public synchronized int flush() {
+        LocalDate today = LocalDate.now();
+
+        List<String> pastDays = openDays.entrySet()
+                                        .stream()
+                                        .filter(e -> e.getValue().date.isBefore(today))
+                                        .sorted(Comparator.comparing(e -> e.getValue().date))
+                                        .map(Map.Entry::getKey)
+                                        .toList();
+
+        for (String pastDay : pastDays) {
+            fold(openDays.remove(pastDay));
+        }
+
+        List<PortionForecastEntity> toSave = new ArrayList<>();
+        for (Iterator<String> it = changed.iterator(); it.hasNext(); ) {
+            toSave.add(forecasts.get(it.next()));
+            it.remove();
+        }
+
+        portionForecastRepository.saveAll(toSave);
+
+        //the cached production sheets carry the predicted portions
+        if (!toSave.isEmpty()) {
+            applicationEventPublisher.publishEvent(new ForecastChangedEvent(this));
+        }
+
+        return toSave.size();
+    }
+
+    private void count(OrderChangedEvent event, int portions) {
+        openDay(event.getDate(), event.getServicePointName(), event.getAgeGroup()).portions.addAndGet(portions);
+    }
+
+    private OpenDay openDay(LocalDate date, String servicePoint, AgeGroupEnum ageGroup) {
+        return openDays.computeIfAbsent(date + "|" + servicePoint + "|" + ageGroup, k -> new OpenDay(date, servicePoint, ageGroup));
+    }
+
+    private void fold(OpenDay day) {
+        String key = forecastKey(day.servicePoint, day.date.getDayOfWeek(), day.ageGroup);
+
+        PortionForecastEntity forecast = forecasts.computeIfAbsent(key, k -> new PortionForecastEntity().setServicePoint(day.servicePoint)
+                                                                                                     .setDayOfWeek(day.date.getDayOfWeek())
+                                                                                                     .setAgeGroup(day.ageGroup));
+
+        //a day may be seen twice when the application restarts before it is folded
+        if (forecast.getLastDate() != null && !day.date.isAfter(forecast.getLastDate())) {
+            return;
+        }
+
+        long portions = Math.max(0, day.portions.get());
+        double expected = forecast.getSamples() == 0
+                ? portions
+                : ALPHA * portions + (1 - ALPHA) * forecast.getExpectedPortions();
+
+        forecast.setExpectedPortions(expected)
+                .setSamples(forecast.getSamples() + 1)
+                .setLastDate(day.date);
+
+        changed.add(key);
+    }
+
+    private static String forecastKey(String servicePoint, DayOfWeek dayOfWeek, AgeGroupEnum ageGroup) {
+        return servicePoint + "|" + dayOfWeek + "|" + ageGroup;
+    }
+
+    private static final class OpenDay {
+        private final LocalDate date;
+        private final String servicePoint;
+        private final AgeGroupEnum ageGroup;
+        private final AtomicLong portions = new AtomicLong();
+
+        private OpenDay(LocalDate date, String servicePoint, AgeGroupEnum ageGroup) {
+            this.date = date;
+            this.servicePoint = servicePoint;
+            this.ageGroup = ageGroup;
+        }
+    }
+}
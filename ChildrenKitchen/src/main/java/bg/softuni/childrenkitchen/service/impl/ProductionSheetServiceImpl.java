@@ -0,0 +1,108 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.event.ForecastChangedEvent;
+import bg.softuni.childrenkitchen.model.event.MenuChangedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderChangedEvent;
+import bg.softuni.childrenkitchen.model.event.RetentionPurgedEvent;
+import bg.softuni.childrenkitchen.model.view.DishPortionsViewModel;
+import bg.softuni.childrenkitchen.model.view.PortionForecastViewModel;
+import bg.softuni.childrenkitchen.model.view.ProductionSheetRow;
+import bg.softuni.childrenkitchen.model.view.ProductionSheetViewModel;
+import bg.softuni.childrenkitchen.repository.OrderRepository;
+import bg.softuni.childrenkitchen.service.interfaces.PortionForecastService;
+import bg.softuni.childrenkitchen.service.interfaces.ProductionSheetService;
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+@Service
+public class ProductionSheetServiceImpl implements ProductionSheetService {
+    private static final List<String> SLOTS = List.of("Супа", "Основно", "Десерт");
+    private static final String NO_MENU = "Няма въведено меню";
+
+    private final OrderRepository orderRepository;
+    private final WorkingDayService workingDayService;
+    private final PortionForecastService portionForecastService;
+
+    public ProductionSheetServiceImpl(OrderRepository orderRepository, WorkingDayService workingDayService, PortionForecastService portionForecastService) {
+        this.orderRepository = orderRepository;
+        this.workingDayService = workingDayService;
+        this.portionForecastService = portionForecastService;
+    }
+
+    //parents can not order after the cutoff, so only then the sheet is stable enough to be cached
+    @Override
+    @Cacheable(cacheNames = "productionSheets", key = "#date", condition = "#date.isBefore(T(java.time.LocalDate).now().plusDays(2))")
+    public ProductionSheetViewModel getProductionSheet(LocalDate date) {
+        List<ProductionSheetRow> rows = orderRepository.findProductionSheetRows(date, date);
+
+        Set<String> points = new LinkedHashSet<>();
+        Map<String, DishPortionsViewModel> dishes = new HashMap<>();
+        Map<String, Long> orderedByPoint = new TreeMap<>();
+
+        for (ProductionSheetRow row : rows) {
+            points.add(row.getServicePoint());
+            orderedByPoint.merge(row.getServicePoint(), row.getPortions(), Long::sum);
+
+            String missing = NO_MENU + " (" + row.getAgeGroup().name() + ")";
+
+            addPortions(dishes, SLOTS.get(0), row.getSoup() != null ? row.getSoup() : missing, row);
+            addPortions(dishes, SLOTS.get(1), row.getMain() != null ? row.getMain() : missing, row);
+            addPortions(dishes, SLOTS.get(2), row.getDessert() != null ? row.getDessert() : missing, row);
+        }
+
+        List<DishPortionsViewModel> sortedDishes = dishes.values()
+                                                         .stream()
+                                                         .sorted(Comparator.comparing((DishPortionsViewModel d) -> SLOTS.indexOf(d.getCategoryName()))
+                                                                           .thenComparing(DishPortionsViewModel::getName))
+                                                         .toList();
+
+        return new ProductionSheetViewModel().setDate(date)
+                                             .setClosedForOrders(workingDayService.isBeforeCutoff(date))
+                                             .setPoints(new ArrayList<>(points))
+                                             .setDishes(sortedDishes)
+                                             .setForecasts(mapToForecasts(orderedByPoint, portionForecastService.getPredictedPortions(date)));
+    }
+
+    private static List<PortionForecastViewModel> mapToForecasts(Map<String, Long> orderedByPoint, Map<String, Long> predictedByPoint) {
+        Set<String> points = new TreeSet<>(orderedByPoint.keySet());
+        points.addAll(predictedByPoint.keySet());
+
+        return points.stream()
+                     .map(point -> new PortionForecastViewModel().setServicePoint(point)
+                                                                 .setOrderedPortions(orderedByPoint.getOrDefault(point, 0L))
+                                                                 .setPredictedPortions(predictedByPoint.getOrDefault(point, 0L)))
+                     .toList();
+    }
+
+    @CacheEvict(cacheNames = "productionSheets", key = "#event.date")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+    }
+
+    @CacheEvict(cacheNames = "productionSheets", key = "#event.date")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+    }
+
+    @CacheEvict(cacheNames = "productionSheets", allEntries = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onForecastChanged(ForecastChangedEvent event) {
+    }
+
+    @CacheEvict(cacheNames = "productionSheets", allEntries = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRetentionPurged(RetentionPurgedEvent event) {
+    }
+
+    private static void addPortions(Map<String, DishPortionsViewModel> dishes, String slot, String name, ProductionSheetRow row) {
+        dishes.computeIfAbsent(slot + "|" + name, k -> new DishPortionsViewModel().setCategoryName(slot)
+                                                                                   .setName(name))
+              .addPortions(row.getServicePoint(), row.getPortions());
+    }
+}
@@ -0,0 +1,93 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.event.RetentionPurgedEvent;
+import bg.softuni.childrenkitchen.model.view.RetentionChunkReport;
+import bg.softuni.childrenkitchen.repository.CouponRepository;
+import bg.softuni.childrenkitchen.repository.MenusRepository;
+import bg.softuni.childrenkitchen.repository.OrderDailyRollupRepository;
+import bg.softuni.childrenkitchen.repository.OrderRepository;
+import bg.softuni.childrenkitchen.service.interfaces.ArchiveService;
+import bg.softuni.childrenkitchen.service.interfaces.RetentionService;
+import bg.softuni.childrenkitchen.service.retention.RetentionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class RetentionServiceImpl implements RetentionService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetentionServiceImpl.class);
+    private static final int CHUNK_SIZE = 1000;
+
+    private final List<RetentionPolicy> policies;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public RetentionServiceImpl(OrderRepository orderRepository, OrderDailyRollupRepository rollupRepository, CouponRepository couponRepository, MenusRepository menusRepository, ArchiveService archiveService,
+                                ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        //orders reference coupons, so they go first
+        this.policies = List.of(
+                new RetentionPolicy("orders", orderRepository::findIdsByDateBefore, orderRepository::deleteAllByIdIn, archiveService::archiveOrders),
+                new RetentionPolicy("orders_daily_rollup", rollupRepository::findIdsByDateBefore, rollupRepository::deleteAllByIdIn),
+                new RetentionPolicy("coupons", couponRepository::findIdsByVerifiedDateBefore, couponRepository::deleteAllByIdIn, archiveService::archiveCoupons),
+                new RetentionPolicy("menus", menusRepository::findIdsByDateBefore, menusRepository::deleteAllByIdIn));
+    }
+
+    //At 00:00 on day-of-month 20 in February.
+    @Scheduled(cron = "00 00 00 20 02 *")
+    public void yearlyPurge() {
+        purgeBefore(LocalDate.now());
+    }
+
+    @Override
+    public List<RetentionChunkReport> purgeBefore(LocalDate date) {
+        List<RetentionChunkReport> reports = new ArrayList<>();
+
+        try {
+            for (RetentionPolicy policy : policies) {
+                purge(policy, date, reports);
+            }
+        } finally {
+            //the chunks are deleted in bulk without order events, the caches built from them are dropped even after a failed run
+            if (!reports.isEmpty()) {
+                applicationEventPublisher.publishEvent(new RetentionPurgedEvent(this).setBefore(date));
+            }
+        }
+
+        return reports;
+    }
+
+    private void purge(RetentionPolicy policy, LocalDate date, List<RetentionChunkReport> reports) {
+        Long afterId = 0L;
+        int chunk = 0;
+
+        while (true) {
+            long start = System.nanoTime();
+
+            List<Long> ids = policy.findChunk(date, afterId, CHUNK_SIZE);
+
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            //a failed archive write stops the purge before anything is deleted
+            policy.archiveChunk(ids);
+            int removed = policy.deleteChunk(ids);
+            afterId = ids.get(ids.size() - 1);
+
+            RetentionChunkReport report = new RetentionChunkReport(policy.getTableName(), ++chunk, removed, elapsedMillis(start));
+            LOGGER.info("Retention {}", report);
+            reports.add(report);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
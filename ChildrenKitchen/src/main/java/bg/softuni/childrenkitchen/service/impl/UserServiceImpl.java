@@ -204,6 +204,9 @@ public class UserServiceImpl implements UserService {
                                     .stream()
                                     .map(ChildEntity::getFullName)
                                     .collect(Collectors.toSet()));
+            model.setChildrenByIds(u.getChildren()
+                                    .stream()
+                                    .collect(Collectors.toMap(ChildEntity::getId, ChildEntity::getFullName)));
             model.setPhoneNumber(u.getPhoneNumber());
             model.setCityName(u.getCity().name());
             list.add(model);
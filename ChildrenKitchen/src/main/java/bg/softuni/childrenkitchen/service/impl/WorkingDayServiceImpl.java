@@ -0,0 +1,151 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
+import bg.softuni.childrenkitchen.model.binding.AddHolidayBindingModel;
+import bg.softuni.childrenkitchen.model.entity.HolidayEntity;
+import bg.softuni.childrenkitchen.model.event.HolidayChangedEvent;
+import bg.softuni.childrenkitchen.model.view.HolidayViewModel;
+import bg.softuni.childrenkitchen.repository.HolidayRepository;
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class WorkingDayServiceImpl implements WorkingDayService {
+    private static final int CUTOFF_DAYS = 2;
+
+    //applied to every year, the holiday table only keeps the movable Easter holidays and the days added by the admins
+    private static final Map<MonthDay, String> FIXED_HOLIDAYS = new LinkedHashMap<>();
+
+    static {
+        FIXED_HOLIDAYS.put(MonthDay.of(1, 1), "Нова година");
+        FIXED_HOLIDAYS.put(MonthDay.of(3, 3), "Ден на Освобождението");
+        FIXED_HOLIDAYS.put(MonthDay.of(5, 1), "Ден на труда");
+        FIXED_HOLIDAYS.put(MonthDay.of(5, 6), "Гергьовден");
+        FIXED_HOLIDAYS.put(MonthDay.of(5, 24), "Ден на светите братя Кирил и Методий");
+        FIXED_HOLIDAYS.put(MonthDay.of(9, 6), "Ден на Съединението");
+        FIXED_HOLIDAYS.put(MonthDay.of(9, 22), "Ден на Независимостта");
+        FIXED_HOLIDAYS.put(MonthDay.of(12, 24), "Бъдни вечер");
+        FIXED_HOLIDAYS.put(MonthDay.of(12, 25), "Рождество Христово");
+        FIXED_HOLIDAYS.put(MonthDay.of(12, 26), "Рождество Христово");
+    }
+
+    private final HolidayRepository holidayRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    //built on first use of a year and dropped when one of its holidays changes
+    private final Map<Integer, YearCalendar> calendars = new ConcurrentHashMap<>();
+
+    public WorkingDayServiceImpl(HolidayRepository holidayRepository, ApplicationEventPublisher applicationEventPublisher) {
+        this.holidayRepository = holidayRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public boolean isWorkingDay(LocalDate date) {
+        return calendarOf(date.getYear()).workingDays.get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    public boolean isHoliday(LocalDate date) {
+        return calendarOf(date.getYear()).holidays.get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    public boolean isBeforeCutoff(LocalDate date) {
+        return date.isBefore(LocalDate.now().plusDays(CUTOFF_DAYS));
+    }
+
+    @Override
+    public List<LocalDate> getWorkingWeek(LocalDate date) {
+        LocalDate monday = date.with(DayOfWeek.MONDAY);
+
+        return List.of(monday, monday.with(DayOfWeek.FRIDAY));
+    }
+
+    @Override
+    public List<HolidayViewModel> getHolidays(int year) {
+        Map<LocalDate, HolidayViewModel> holidays = new TreeMap<>();
+
+        FIXED_HOLIDAYS.forEach((day, name) -> holidays.put(day.atYear(year), new HolidayViewModel().setDate(day.atYear(year))
+                                                                                                   .setName(name)));
+
+        holidayRepository.findAllByDateBetweenOrderByDate(Year.of(year).atDay(1), Year.of(year).atMonth(12).atEndOfMonth())
+                         .forEach(h -> holidays.put(h.getDate(), mapToViewModel(h)));
+
+        return List.copyOf(holidays.values());
+    }
+
+    @Override
+    public HolidayViewModel addHoliday(AddHolidayBindingModel addHolidayBindingModel) {
+        HolidayEntity holiday = holidayRepository.findByDate(addHolidayBindingModel.getDate())
+                                                 .orElseGet(() -> new HolidayEntity().setDate(addHolidayBindingModel.getDate()));
+
+        HolidayEntity saved = holidayRepository.save(holiday.setName(addHolidayBindingModel.getName()));
+
+        calendars.remove(saved.getDate().getYear());
+        applicationEventPublisher.publishEvent(new HolidayChangedEvent(this).setDate(saved.getDate()));
+
+        return mapToViewModel(saved);
+    }
+
+    @Override
+    public void deleteHoliday(LocalDate date) {
+        HolidayEntity holiday = holidayRepository.findByDate(date)
+                                                 .orElseThrow(ObjectNotFoundException::new);
+
+        holidayRepository.delete(holiday);
+
+        calendars.remove(date.getYear());
+        applicationEventPublisher.publishEvent(new HolidayChangedEvent(this).setDate(date));
+    }
+
+    private YearCalendar calendarOf(int year) {
+        return calendars.computeIfAbsent(year, this::buildCalendar);
+    }
+
+    private YearCalendar buildCalendar(int year) {
+        LocalDate firstDay = Year.of(year).atDay(1);
+        int days = Year.of(year).length();
+
+        BitSet holidays = new BitSet(days);
+        FIXED_HOLIDAYS.keySet()
+                      .forEach(day -> holidays.set(day.atYear(year).getDayOfYear() - 1));
+        holidayRepository.findAllByDateBetweenOrderByDate(firstDay, firstDay.plusDays(days - 1L))
+                         .forEach(h -> holidays.set(h.getDate().getDayOfYear() - 1));
+
+        BitSet workingDays = new BitSet(days);
+        for (int day = 0; day < days; day++) {
+            DayOfWeek dayOfWeek = firstDay.plusDays(day).getDayOfWeek();
+
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY && !holidays.get(day)) {
+                workingDays.set(day);
+            }
+        }
+
+        return new YearCalendar(workingDays, holidays);
+    }
+
+    private static HolidayViewModel mapToViewModel(HolidayEntity holiday) {
+        return new HolidayViewModel().setDate(holiday.getDate())
+                                     .setName(holiday.getName());
+    }
+
+    //bit (day of year - 1) of each set, never modified after the calendar is built
+    private static final class YearCalendar {
+        private final BitSet workingDays;
+        private final BitSet holidays;
+
+        private YearCalendar(BitSet workingDays, BitSet holidays) {
+            this.workingDays = workingDays;
+            this.holidays = holidays;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package bg.softuni.childrenkitchen.service.interceptor;
+
+import bg.softuni.childrenkitchen.service.version.DatasetVersions;
+import bg.softuni.childrenkitchen.service.version.DatasetVersions.Dataset;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.Set;
+
+//answers 304 from the dataset versions before the controller or the template runs
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    private static final Map<String, Dataset> DATASETS = Map.of("/menus", Dataset.MENUS,
+                                                                "/api/get-menu-by-date", Dataset.MENUS,
+                                                                "/api/menus", Dataset.MENUS,
+                                                                "/api/get-foods", Dataset.FOODS,
+                                                                "/api/points", Dataset.POINTS);
+    private static final Set<String> PUBLIC_PATHS = Set.of("/menus", "/api/points");
+
+    //shared caches may keep the public data for a minute, the browser always revalidates
+    private static final String PUBLIC = "public, max-age=0, s-maxage=60, must-revalidate";
+    private static final String PRIVATE = "private, no-cache";
+
+    private final DatasetVersions datasetVersions;
+
+    public ConditionalGetInterceptor(DatasetVersions datasetVersions) {
+        this.datasetVersions = datasetVersions;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Dataset dataset = DATASETS.get(path);
+
+        if (dataset == null || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+
+        //the menu page shows the navigation and the csrf token of the session, so logged in users get an ETag per session
+        HttpSession session = request.getSession(false);
+        boolean personal = dataset == Dataset.MENUS && request.getUserPrincipal() != null;
+
+        String eTag = datasetVersions.getETag(dataset);
+        if (personal && session != null) {
+            eTag += "-" + Integer.toHexString(session.getId().hashCode());
+        }
+
+        boolean isPublic = !personal && PUBLIC_PATHS.contains(path);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isPublic ? PUBLIC : PRIVATE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+
+        return !new ServletWebRequest(request, response).checkNotModified("\"" + eTag + "\"", datasetVersions.getLastModified(dataset));
+    }
+}
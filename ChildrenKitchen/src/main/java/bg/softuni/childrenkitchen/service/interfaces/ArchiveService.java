@@ -0,0 +1,17 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.view.ArchivedCoupon;
+import bg.softuni.childrenkitchen.model.view.ArchivedOrder;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchiveService {
+    void archiveOrders(Collection<Long> orderIds);
+
+    void archiveCoupons(Collection<Long> couponIds);
+
+    List<ArchivedOrder> getArchivedOrders(Long childId, int year);
+
+    List<ArchivedCoupon> getArchivedCoupons(Long childId, int year);
+}
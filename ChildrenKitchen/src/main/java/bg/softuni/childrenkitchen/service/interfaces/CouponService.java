@@ -2,7 +2,10 @@ package bg.softuni.childrenkitchen.service.interfaces;
 
 import bg.softuni.childrenkitchen.model.binding.BuyCouponsBindingModel;
 import bg.softuni.childrenkitchen.model.entity.CouponEntity;
+import bg.softuni.childrenkitchen.model.entity.ChildEntity;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface CouponService {
 
@@ -11,8 +14,14 @@ public interface CouponService {
 
     CouponEntity getAndVerifyCoupon(String userEmail, String childName, LocalDate forDate);
 
+    List<CouponEntity> getAndVerifyCoupons(ChildEntity child, List<LocalDate> forDates);
+
+    int countFreeCoupons(Long childId);
+
     Long unverifiedCoupon(Long couponId);
 
+    int releaseCoupons(Long servicePointId, Collection<LocalDate> dates);
+
     void deleteCouponsByOwnerId(Long ownerId);
 
 }
@@ -6,6 +6,8 @@ import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
 import bg.softuni.childrenkitchen.model.entity.enums.FoodCategoryEnum;
 import bg.softuni.childrenkitchen.model.view.FoodViewModel;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -15,6 +17,8 @@ public interface FoodService {
     Optional<FoodEntity> getByName(String foodName);
     boolean existByName(String foodName);
 
+    Map<String, FoodEntity> getAllByNames(Collection<String> foodNames);
+
     FoodViewModel addFood(AddRecipeBindingModel addRecipeBindingModel);
 
     Set<String> findAllFoodsNameByCategoryAndAgeGroup(FoodCategoryEnum foodCategoryEnum, AgeGroupEnum ageGroup);
@@ -3,17 +3,26 @@ package bg.softuni.childrenkitchen.service.interfaces;
 import bg.softuni.childrenkitchen.model.binding.AddMenuBindingModel;
 import bg.softuni.childrenkitchen.model.entity.DailyManuEntity;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.view.MenuImportViewModel;
 import bg.softuni.childrenkitchen.model.view.MenuViewModel;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MenuService {
     void initDB();
 
-    List<MenuViewModel> getWeeklyMenu();
+    Map<AgeGroupEnum, List<MenuViewModel>> getWeeklyMenu();
+
+    void rolloverWeeklyMenu();
 
     MenuViewModel getMenuViewModelByDateAndAgeGroup(LocalDate date, AgeGroupEnum ageGroup);
 
+    Map<LocalDate, MenuViewModel> getMenuViewModelsByDatesAndAgeGroup(Collection<LocalDate> dates, AgeGroupEnum ageGroup);
+
+    List<MenuViewModel> getMenuViewModelsByRangeAndAgeGroup(LocalDate from, LocalDate to, AgeGroupEnum ageGroup);
+
     MenuViewModel mapToViewModel(DailyManuEntity entity);
 
     List<LocalDate> getDateOfCurrentMondayAndFriday(LocalDate fromNow);
@@ -22,4 +31,8 @@ public interface MenuService {
     boolean existByDateAndAgeGroup(LocalDate date, AgeGroupEnum ageGroup);
 
     MenuViewModel editMenu(LocalDate date, AgeGroupEnum ageGroup, AddMenuBindingModel addMenuBindingModel);
+
+    MenuImportViewModel importMenus(List<AddMenuBindingModel> menus);
+
+    MenuImportViewModel importMenusCsv(String csv);
 }
@@ -0,0 +1,9 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.view.OrderCalendarViewModel;
+
+import java.time.YearMonth;
+
+public interface OrderCalendarService {
+    OrderCalendarViewModel getOrderCalendar(Long childId, YearMonth month);
+}
@@ -0,0 +1,12 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.binding.AdminSearchBindingModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface OrderExportService {
+    void exportCsv(AdminSearchBindingModel adminSearchBindingModel, OutputStream outputStream) throws IOException;
+
+    void exportXlsx(AdminSearchBindingModel adminSearchBindingModel, OutputStream outputStream) throws IOException;
+}
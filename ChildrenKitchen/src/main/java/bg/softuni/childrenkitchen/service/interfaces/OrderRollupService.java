@@ -0,0 +1,26 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.entity.OrderEntity;
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.view.OrderReferenceCount;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRollupService {
+    void initDB();
+
+    void addOrder(OrderEntity order);
+
+    void removeOrder(OrderEntity order);
+
+    void removeOrder(LocalDate date, Long servicePointId, AgeGroupEnum ageGroup, boolean allergic);
+
+    void removeAllOrders(PointEntity servicePoint, Collection<LocalDate> dates);
+
+    int rebuild();
+
+    List<OrderReferenceCount> getReferenceCounts(LocalDate from, LocalDate to, String servicePoint, String ageGroup);
+}
@@ -3,10 +3,12 @@ package bg.softuni.childrenkitchen.service.interfaces;
 import bg.softuni.childrenkitchen.model.view.ReferenceViewModel;
 import bg.softuni.childrenkitchen.model.binding.AdminSearchBindingModel;
 import bg.softuni.childrenkitchen.model.view.OrderViewModel;
+import bg.softuni.childrenkitchen.model.view.PointClosureViewModel;
 
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 
 public interface OrderService {
@@ -14,9 +16,15 @@ public interface OrderService {
 
     OrderViewModel makeOrder(LocalDate date, String servicePoint, String userEmail, String childFullName, String loggedInUserEmail);
 
+    List<OrderViewModel> makeOrders(Set<LocalDate> dates, String servicePoint, String userEmail, String childFullName, String loggedInUserEmail);
+
     List<LocalDate> getOrdersDateOfChild(String childName, String userEmail);
 
-    void deleteOrder(LocalDate deleteOrderDate, String childName);
+    List<LocalDate> getOrdersDateOfChild(Long childId);
+
+    Long deleteOrder(Long childId, LocalDate deleteOrderDate);
+
+    PointClosureViewModel closePoint(String servicePointName, Set<LocalDate> dates);
 
     List<OrderViewModel> getActiveOrders(String username);
 
@@ -0,0 +1,16 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface PointCapacityService {
+    void initDB();
+
+    void reserve(PointEntity servicePoint, Collection<LocalDate> dates);
+
+    int getReserved(Long servicePointId, LocalDate date);
+
+    void reconcile();
+}
@@ -12,4 +12,6 @@ public interface PointService {
 
     Set<String> getAllNames();
     Set<PointViewModel> getAll();
+
+    void setDailyCapacity(String pointName, Integer dailyCapacity);
 }
@@ -0,0 +1,12 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface PortionForecastService {
+    void initDB();
+
+    Map<String, Long> getPredictedPortions(LocalDate date);
+
+    int flush();
+}
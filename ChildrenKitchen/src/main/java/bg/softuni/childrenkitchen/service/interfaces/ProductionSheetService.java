@@ -0,0 +1,9 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.view.ProductionSheetViewModel;
+
+import java.time.LocalDate;
+
+public interface ProductionSheetService {
+    ProductionSheetViewModel getProductionSheet(LocalDate date);
+}
@@ -0,0 +1,10 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.view.RetentionChunkReport;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RetentionService {
+    List<RetentionChunkReport> purgeBefore(LocalDate date);
+}
@@ -0,0 +1,23 @@
+package bg.softuni.childrenkitchen.service.interfaces;
+
+import bg.softuni.childrenkitchen.model.binding.AddHolidayBindingModel;
+import bg.softuni.childrenkitchen.model.view.HolidayViewModel;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface WorkingDayService {
+    boolean isWorkingDay(LocalDate date);
+
+    boolean isHoliday(LocalDate date);
+
+    boolean isBeforeCutoff(LocalDate date);
+
+    List<LocalDate> getWorkingWeek(LocalDate date);
+
+    List<HolidayViewModel> getHolidays(int year);
+
+    HolidayViewModel addHoliday(AddHolidayBindingModel addHolidayBindingModel);
+
+    void deleteHoliday(LocalDate date);
+}
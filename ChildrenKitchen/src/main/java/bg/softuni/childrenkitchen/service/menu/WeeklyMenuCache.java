@@ -0,0 +1,148 @@
+package bg.softuni.childrenkitchen.service.menu;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.event.HolidayChangedEvent;
+import bg.softuni.childrenkitchen.model.event.RetentionPurgedEvent;
+import bg.softuni.childrenkitchen.model.view.MenuViewModel;
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+//the menus of the current and the next week as one immutable snapshot, readers never lock and writers replace the whole snapshot
+@Component
+public class WeeklyMenuCache {
+    private static final int CACHED_DAYS = 14;
+    private static final Comparator<MenuViewModel> BY_DATE = Comparator.comparing(MenuViewModel::getLocalDate)
+                                                                        .thenComparing(MenuViewModel::getAgeGroupName);
+
+    private final WorkingDayService workingDayService;
+
+    private volatile WeeklyMenus weeklyMenus;
+    private long version;
+
+    public WeeklyMenuCache(WorkingDayService workingDayService) {
+        this.workingDayService = workingDayService;
+    }
+
+    public Map<AgeGroupEnum, List<MenuViewModel>> getWeek(LocalDate monday, Function<LocalDate, List<MenuViewModel>> loader) {
+        WeeklyMenus current = weeklyMenus;
+
+        if (current == null || !current.monday.equals(monday)) {
+            current = load(monday, loader, false);
+        }
+
+        return current.currentWeek;
+    }
+
+    public boolean covers(LocalDate date) {
+        WeeklyMenus current = weeklyMenus;
+
+        return current != null && current.covers(date);
+    }
+
+    //null when the date is outside the cached weeks or has no menu, covers tells the two apart
+    public MenuViewModel find(LocalDate date, AgeGroupEnum ageGroup) {
+        WeeklyMenus current = weeklyMenus;
+
+        if (current == null) {
+            return null;
+        }
+
+        Map<AgeGroupEnum, MenuViewModel> byAgeGroup = current.byDate.get(date);
+
+        return byAgeGroup == null ? null : byAgeGroup.get(ageGroup);
+    }
+
+    //the loader runs under the lock, so a menu saved while the weeks are read from the database is written through afterwards
+    public synchronized void rollover(LocalDate monday, Function<LocalDate, List<MenuViewModel>> loader) {
+        load(monday, loader, true);
+    }
+
+    public synchronized void put(MenuViewModel menu) {
+        WeeklyMenus current = weeklyMenus;
+
+        if (current == null || !current.covers(menu.getLocalDate())) {
+            return;
+        }
+
+        List<MenuViewModel> menus = new ArrayList<>(current.menus);
+        menus.removeIf(m -> m.getLocalDate().equals(menu.getLocalDate()) && m.getAgeGroupName().equals(menu.getAgeGroupName()));
+        menus.add(menu);
+
+        weeklyMenus = new WeeklyMenus(current.monday, ++version, menus);
+    }
+
+    //the page hides holidays, so the precomputed weeks are rebuilt on the next read
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHolidayChanged(HolidayChangedEvent event) {
+        evictAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRetentionPurged(RetentionPurgedEvent event) {
+        evictAll();
+    }
+
+    public synchronized void evictAll() {
+        weeklyMenus = null;
+    }
+
+    public long getVersion() {
+        WeeklyMenus current = weeklyMenus;
+
+        return current == null ? 0 : current.version;
+    }
+
+    private synchronized WeeklyMenus load(LocalDate monday, Function<LocalDate, List<MenuViewModel>> loader, boolean force) {
+        WeeklyMenus current = weeklyMenus;
+
+        if (!force && current != null && current.monday.equals(monday)) {
+            return current;
+        }
+
+        current = new WeeklyMenus(monday, ++version, loader.apply(monday));
+        weeklyMenus = current;
+
+        return current;
+    }
+
+    private final class WeeklyMenus {
+        private final LocalDate monday;
+        private final long version;
+        private final List<MenuViewModel> menus;
+        private final Map<LocalDate, Map<AgeGroupEnum, MenuViewModel>> byDate = new HashMap<>();
+        private final Map<AgeGroupEnum, List<MenuViewModel>> currentWeek;
+
+        private WeeklyMenus(LocalDate monday, long version, List<MenuViewModel> menus) {
+            this.monday = monday;
+            this.version = version;
+            this.menus = menus.stream()
+                              .sorted(BY_DATE)
+                              .toList();
+
+            Map<AgeGroupEnum, List<MenuViewModel>> week = new EnumMap<>(AgeGroupEnum.class);
+
+            for (MenuViewModel menu : this.menus) {
+                AgeGroupEnum ageGroup = AgeGroupEnum.valueOf(menu.getAgeGroupName());
+                byDate.computeIfAbsent(menu.getLocalDate(), d -> new EnumMap<>(AgeGroupEnum.class))
+                      .put(ageGroup, menu);
+
+                if (menu.getLocalDate().isBefore(monday.plusDays(7)) && !workingDayService.isHoliday(menu.getLocalDate())) {
+                    week.computeIfAbsent(ageGroup, a -> new ArrayList<>())
+                        .add(menu);
+                }
+            }
+
+            week.replaceAll((ageGroup, dailyMenus) -> List.copyOf(dailyMenus));
+            this.currentWeek = Collections.unmodifiableMap(week);
+        }
+
+        private boolean covers(LocalDate date) {
+            return !date.isBefore(monday) && date.isBefore(monday.plusDays(CACHED_DAYS));
+        }
+    }
+}
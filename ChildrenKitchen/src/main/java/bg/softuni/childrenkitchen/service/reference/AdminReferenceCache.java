@@ -0,0 +1,140 @@
+package bg.softuni.childrenkitchen.service.reference;
+
+import bg.softuni.childrenkitchen.model.binding.AdminSearchBindingModel;
+import bg.softuni.childrenkitchen.model.event.OrderChangedEvent;
+import bg.softuni.childrenkitchen.model.event.RetentionPurgedEvent;
+import bg.softuni.childrenkitchen.model.view.ReferenceCacheStatsViewModel;
+import bg.softuni.childrenkitchen.model.view.ReferenceViewModel;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//admin reference results by (from, to, point, age group), an order change drops only the entries whose range and filters cover it
+@Component
+public class AdminReferenceCache {
+    private static final String ALL = "All";
+
+    private static final int MAX_ENTRIES = 256;
+
+    //least recently used first, guarded by this together with the stamp
+    private final Map<Key, List<ReferenceViewModel>> results = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, List<ReferenceViewModel>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    //bumped on every eviction, a result loaded across one may miss the change and is not stored
+    private long stamp;
+
+    public List<ReferenceViewModel> get(AdminSearchBindingModel search, Supplier<List<ReferenceViewModel>> loader) {
+        Key key = new Key(search.getFromDate(), search.getToDate(), search.getServicePoint(), search.getAgeGroup());
+        long loadStamp;
+
+        synchronized (this) {
+            List<ReferenceViewModel> cached = results.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+
+            loadStamp = stamp;
+        }
+
+        misses.incrementAndGet();
+        List<ReferenceViewModel> loaded = loader.get();
+
+        synchronized (this) {
+            if (loadStamp == stamp) {
+                results.put(key, loaded);
+            }
+        }
+
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onOrderChanged(OrderChangedEvent event) {
+        stamp++;
+
+        results.keySet().removeIf(key -> {
+            boolean affected = key.covers(event);
+            if (affected) {
+                evictions.incrementAndGet();
+            }
+            return affected;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRetentionPurged(RetentionPurgedEvent event) {
+        evictAll();
+    }
+
+    public synchronized void evictAll() {
+        stamp++;
+
+        evictions.addAndGet(results.size());
+        results.clear();
+    }
+
+    public ReferenceCacheStatsViewModel getStats() {
+        return new ReferenceCacheStatsViewModel().setHits(hits.get())
+                                                 .setMisses(misses.get())
+                                                 .setEvictions(evictions.get())
+                                                 .setSize(size());
+    }
+
+    private synchronized int size() {
+        return results.size();
+    }
+
+    private static final class Key {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final String servicePoint;
+        private final String ageGroup;
+
+        private Key(LocalDate from, LocalDate to, String servicePoint, String ageGroup) {
+            this.from = from;
+            this.to = to;
+            this.servicePoint = servicePoint;
+            this.ageGroup = ageGroup;
+        }
+
+        private boolean covers(OrderChangedEvent event) {
+            LocalDate date = event.getDate();
+
+            return !date.isBefore(from) && !date.isAfter(to)
+                    && (servicePoint.equals(ALL) || servicePoint.equals(event.getServicePointName()))
+                    && (ageGroup.equals(ALL) || ageGroup.equals(event.getAgeGroup().name()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return from.equals(key.from) && to.equals(key.to)
+                    && servicePoint.equals(key.servicePoint) && ageGroup.equals(key.ageGroup);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(from, to, servicePoint, ageGroup);
+        }
+    }
+}
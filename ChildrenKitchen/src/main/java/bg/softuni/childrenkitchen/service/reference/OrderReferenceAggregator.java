@@ -0,0 +1,84 @@
+package bg.softuni.childrenkitchen.service.reference;
+
+import bg.softuni.childrenkitchen.model.entity.ChildEntity;
+import bg.softuni.childrenkitchen.model.entity.OrderEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+
+import java.util.*;
+
+//collects point x age group x allergic buckets in one scan of the orders
+public class OrderReferenceAggregator {
+    private static final int AGE_GROUPS = AgeGroupEnum.values().length;
+
+    private final Map<String, long[]> totalByPoint = new LinkedHashMap<>();
+    private final Map<String, long[]> allergicByPoint = new HashMap<>();
+    private final Map<Object, Boolean> allergicByChild = new HashMap<>();
+    private final Map<Object, ChildEntity> allergicChildren = new LinkedHashMap<>();
+
+    public OrderReferenceAggregator add(OrderEntity order) {
+        ChildEntity child = order.getChild();
+        Object key = child.getId() != null ? child.getId() : child;
+
+        boolean allergic = allergicByChild.computeIfAbsent(key, k -> child.isAllergic());
+
+        add(order.getServicePoint().getName(), child.getAgeGroup(), 1, allergic ? 1 : 0);
+
+        if (allergic) {
+            allergicChildren.putIfAbsent(key, child);
+        }
+
+        return this;
+    }
+
+    public OrderReferenceAggregator add(String point, AgeGroupEnum ageGroup, long totalCount, long allergicCount) {
+        totalByPoint.computeIfAbsent(point, p -> new long[AGE_GROUPS])[ageGroup.ordinal()] += totalCount;
+        allergicByPoint.computeIfAbsent(point, p -> new long[AGE_GROUPS])[ageGroup.ordinal()] += allergicCount;
+        return this;
+    }
+
+    public OrderReferenceAggregator addAllergicChild(ChildEntity child) {
+        allergicChildren.putIfAbsent(child.getId() != null ? child.getId() : child, child);
+        return this;
+    }
+
+    public List<String> getPoints() {
+        return new ArrayList<>(totalByPoint.keySet());
+    }
+
+    public boolean isEmpty() {
+        return totalByPoint.isEmpty();
+    }
+
+    public int countOrders(String point, AgeGroupEnum ageGroup) {
+        return (int) valueOf(totalByPoint, point, ageGroup);
+    }
+
+    public int countOrders(AgeGroupEnum ageGroup) {
+        return (int) totalByPoint.values().stream().mapToLong(counts -> counts[ageGroup.ordinal()]).sum();
+    }
+
+    public int countAllergicOrders(String point) {
+        long[] counts = allergicByPoint.get(point);
+        return counts == null ? 0 : (int) Arrays.stream(counts).sum();
+    }
+
+    public int countAllergicOrders(AgeGroupEnum ageGroup) {
+        return (int) allergicByPoint.values().stream().mapToLong(counts -> counts[ageGroup.ordinal()]).sum();
+    }
+
+    public List<ChildEntity> getAllergicChildren() {
+        return new ArrayList<>(allergicChildren.values());
+    }
+
+    public List<ChildEntity> getAllergicChildren(AgeGroupEnum ageGroup) {
+        return allergicChildren.values()
+                               .stream()
+                               .filter(c -> c.getAgeGroup() == ageGroup)
+                               .toList();
+    }
+
+    private static long valueOf(Map<String, long[]> buckets, String point, AgeGroupEnum ageGroup) {
+        long[] counts = buckets.get(point);
+        return counts == null ? 0 : counts[ageGroup.ordinal()];
+    }
+}
@@ -0,0 +1,48 @@
+package bg.softuni.childrenkitchen.service.retention;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+//how one table is purged: ids older than the cut off date are found and deleted in keyset chunks
+public class RetentionPolicy {
+    private final String tableName;
+    private final ChunkFinder chunkFinder;
+    private final Function<List<Long>, Integer> chunkDeleter;
+    private final Consumer<List<Long>> chunkArchiver;
+
+    public RetentionPolicy(String tableName, ChunkFinder chunkFinder, Function<List<Long>, Integer> chunkDeleter) {
+        this(tableName, chunkFinder, chunkDeleter, ids -> {});
+    }
+
+    public RetentionPolicy(String tableName, ChunkFinder chunkFinder, Function<List<Long>, Integer> chunkDeleter, Consumer<List<Long>> chunkArchiver) {
+        this.tableName = tableName;
+        this.chunkFinder = chunkFinder;
+        this.chunkDeleter = chunkDeleter;
+        this.chunkArchiver = chunkArchiver;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<Long> findChunk(LocalDate before, Long afterId, int chunkSize) {
+        return chunkFinder.findIds(before, afterId, Pageable.ofSize(chunkSize));
+    }
+
+    public void archiveChunk(List<Long> ids) {
+        chunkArchiver.accept(ids);
+    }
+
+    public int deleteChunk(List<Long> ids) {
+        return chunkDeleter.apply(ids);
+    }
+
+    @FunctionalInterface
+    public interface ChunkFinder {
+        List<Long> findIds(LocalDate before, Long afterId, Pageable pageable);
+    }
+}
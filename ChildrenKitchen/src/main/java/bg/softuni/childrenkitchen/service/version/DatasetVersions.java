@@ -0,0 +1,54 @@
+package bg.softuni.childrenkitchen.service.version;
+
+import bg.softuni.childrenkitchen.model.event.HolidayChangedEvent;
+import bg.softuni.childrenkitchen.model.event.RetentionPurgedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+//one counter per public dataset, the services bump it on every write and the conditional GET interceptor builds the ETag from it
+@Component
+public class DatasetVersions {
+    public enum Dataset {
+        MENUS, FOODS, POINTS
+    }
+
+    //a restart starts the counters again, the boot time keeps the ETags of the previous run from matching
+    private final long bootTime = System.currentTimeMillis();
+    private final Map<Dataset, AtomicLong> versions = new EnumMap<>(Dataset.class);
+    private final Map<Dataset, AtomicLong> lastModified = new EnumMap<>(Dataset.class);
+
+    public DatasetVersions() {
+        for (Dataset dataset : Dataset.values()) {
+            versions.put(dataset, new AtomicLong());
+            lastModified.put(dataset, new AtomicLong(bootTime));
+        }
+    }
+
+    public void bump(Dataset dataset) {
+        versions.get(dataset).incrementAndGet();
+        lastModified.get(dataset).set(System.currentTimeMillis());
+    }
+
+    //the holidays are hidden from the weekly menu page
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHolidayChanged(HolidayChangedEvent event) {
+        bump(Dataset.MENUS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRetentionPurged(RetentionPurgedEvent event) {
+        bump(Dataset.MENUS);
+    }
+
+    public String getETag(Dataset dataset) {
+        return dataset.name().toLowerCase() + "-" + Long.toHexString(bootTime) + "-" + versions.get(dataset).get();
+    }
+
+    public long getLastModified(Dataset dataset) {
+        return lastModified.get(dataset).get();
+    }
+}
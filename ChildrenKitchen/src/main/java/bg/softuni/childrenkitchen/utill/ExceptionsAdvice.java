@@ -1,6 +1,8 @@
 package bg.softuni.childrenkitchen.utill;
 
 import bg.softuni.childrenkitchen.exception.EmailProblemException;
+import bg.softuni.childrenkitchen.exception.HolidayOrderException;
+import bg.softuni.childrenkitchen.exception.PointCapacityExceededException;
 import bg.softuni.childrenkitchen.exception.NoAvailableMenuException;
 import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -23,6 +25,28 @@ public class ExceptionsAdvice {
     }
 
 
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(HolidayOrderException.class)
+    public ModelAndView onHolidayOrder(HolidayOrderException hoe){
+        ModelAndView modelAndView = new ModelAndView("error-not-found");
+
+        modelAndView.addObject("error", hoe.getMessage());
+
+        return modelAndView;
+    }
+
+
+    @ResponseStatus(value = HttpStatus.CONFLICT)
+    @ExceptionHandler(PointCapacityExceededException.class)
+    public ModelAndView onPointCapacityExceeded(PointCapacityExceededException pcee){
+        ModelAndView modelAndView = new ModelAndView("error-not-found");
+
+        modelAndView.addObject("error", pcee.getMessage());
+
+        return modelAndView;
+    }
+
+
     @ExceptionHandler(EmailProblemException.class)
     public ModelAndView onEmailProblem(EmailProblemException epe){
         ModelAndView modelAndView = new ModelAndView("error-not-found");
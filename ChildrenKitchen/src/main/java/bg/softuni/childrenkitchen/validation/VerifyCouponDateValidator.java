@@ -1,5 +1,6 @@
 package bg.softuni.childrenkitchen.validation;
 
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
 import bg.softuni.childrenkitchen.validation.annotation.DateVerifyCoupon;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -8,6 +9,12 @@ import java.time.LocalDate;
 
 public class VerifyCouponDateValidator implements ConstraintValidator<DateVerifyCoupon, LocalDate> {
 
+    private final WorkingDayService workingDayService;
+
+    public VerifyCouponDateValidator(WorkingDayService workingDayService) {
+        this.workingDayService = workingDayService;
+    }
+
     @Override
     public boolean isValid(LocalDate date, ConstraintValidatorContext context) {
         if(date == null){
@@ -20,11 +27,11 @@ public class VerifyCouponDateValidator implements ConstraintValidator<DateVerify
 //        }
 
 
-        if (date.getDayOfWeek().name().equals("SATURDAY") || date.getDayOfWeek().name().equals("SUNDAY")){
+        if (!workingDayService.isWorkingDay(date)){
             return false;
         }
 
-        if (date.isBefore(LocalDate.now().plusDays(2))){
+        if (workingDayService.isBeforeCutoff(date)){
             return false;
         }
 
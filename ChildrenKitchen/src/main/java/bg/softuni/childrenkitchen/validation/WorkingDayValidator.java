@@ -1,5 +1,6 @@
 package bg.softuni.childrenkitchen.validation;
 
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
 import bg.softuni.childrenkitchen.validation.annotation.WorkingDay;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -7,12 +8,15 @@ import jakarta.validation.ConstraintValidatorContext;
 import java.time.LocalDate;
 
 public class WorkingDayValidator implements ConstraintValidator<WorkingDay, LocalDate> {
+
+    private final WorkingDayService workingDayService;
+
+    public WorkingDayValidator(WorkingDayService workingDayService) {
+        this.workingDayService = workingDayService;
+    }
+
     @Override
     public boolean isValid(LocalDate date, ConstraintValidatorContext context) {
-        return !date.getDayOfWeek()
-                    .name()
-                    .equals("SATURDAY") && !date.getDayOfWeek()
-                                                .name()
-                                                .equals("SUNDAY");
+        return date != null && workingDayService.isWorkingDay(date);
     }
 }
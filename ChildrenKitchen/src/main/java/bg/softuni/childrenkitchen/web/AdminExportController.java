@@ -0,0 +1,72 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.model.binding.AdminSearchBindingModel;
+import bg.softuni.childrenkitchen.service.interfaces.OrderExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@Controller
+public class AdminExportController {
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private final OrderExportService orderExportService;
+
+    public AdminExportController(OrderExportService orderExportService) {
+        this.orderExportService = orderExportService;
+    }
+
+    @GetMapping("/admin/export/orders.csv")
+    public void exportCsv(@Valid AdminSearchBindingModel adminSearchBindingModel,
+                          BindingResult bindingResult,
+                          HttpServletResponse response) throws IOException {
+
+        if (isNotValid(adminSearchBindingModel, bindingResult)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, attachment(adminSearchBindingModel, "csv"));
+
+        orderExportService.exportCsv(adminSearchBindingModel, response.getOutputStream());
+    }
+
+    @GetMapping("/admin/export/orders.xlsx")
+    public void exportXlsx(@Valid AdminSearchBindingModel adminSearchBindingModel,
+                           BindingResult bindingResult,
+                           HttpServletResponse response) throws IOException {
+
+        if (isNotValid(adminSearchBindingModel, bindingResult)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        response.setContentType(XLSX_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, attachment(adminSearchBindingModel, "xlsx"));
+
+        orderExportService.exportXlsx(adminSearchBindingModel, response.getOutputStream());
+    }
+
+    private static boolean isNotValid(AdminSearchBindingModel adminSearchBindingModel, BindingResult bindingResult) {
+        return bindingResult.hasErrors()
+                || adminSearchBindingModel.getFromDate() == null
+                || adminSearchBindingModel.getToDate() == null
+                || adminSearchBindingModel.getFromDate().isAfter(adminSearchBindingModel.getToDate());
+    }
+
+    private static String attachment(AdminSearchBindingModel adminSearchBindingModel, String extension) {
+        return ContentDisposition.attachment()
+                                 .filename("orders_" + adminSearchBindingModel.getFromDate() + "_" + adminSearchBindingModel.getToDate() + "." + extension)
+                                 .build()
+                                 .toString();
+    }
+}
@@ -13,8 +13,6 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,8 +29,11 @@ public class AdminReferenceController {
         this.orderService = orderService;
     }
 
+    //the search is a plain GET, so results can be bookmarked and nothing is kept in the session between requests
     @GetMapping("/admin")
-    public String getAdminPage(Model model) {
+    public String getAdminPage(@Valid AdminSearchBindingModel adminSearchBindingModel,
+                               BindingResult bindingResult,
+                               Model model) {
         model.addAttribute("ageGroups", AgeGroupEnum.values());
 
         model.addAttribute("points", pointService.getAllNames());
@@ -41,24 +42,16 @@ public class AdminReferenceController {
 
         model.addAttribute("allergicKids", allAllergicChildren);
 
-
-        return "admin";
-    }
-
-
-    @PostMapping("/admin")
-    public String getInfoFromDB(@Valid AdminSearchBindingModel adminSearchBindingModel,
-                                BindingResult bindingResult,
-                                RedirectAttributes redirectAttributes) {
+        if (isEmptySearch(adminSearchBindingModel)) {
+            return "admin";
+        }
 
         if (bindingResult.hasErrors()
                 || adminSearchBindingModel.getFromDate() == null
                 || adminSearchBindingModel.getToDate() == null
                 || adminSearchBindingModel.getFromDate().isAfter(adminSearchBindingModel.getToDate())) {
-            redirectAttributes.addFlashAttribute("adminSearchBindingModel", adminSearchBindingModel);
-            redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.adminSearchBindingModel", bindingResult);
-            redirectAttributes.addFlashAttribute("errorMsg", "Грешка при въвеждане!");
-            return "redirect:/admin";
+            model.addAttribute("errorMsg", "Грешка при въвеждане!");
+            return "admin";
         }
 
         List<ReferenceViewModel> adminReference = orderService.getAdminReference(adminSearchBindingModel);
@@ -68,29 +61,35 @@ public class AdminReferenceController {
             Integer totalCountAllergicOrders = getTotalCountAllergicOrders(adminReference);
             List<AllergicChildViewModel> allergicList = getListWithAllergicChildren(adminReference);
 
-            redirectAttributes.addFlashAttribute("referenceByPointsViewModelList", adminReference);
-            redirectAttributes.addFlashAttribute("totalCountOrders", totalCountOrders);
-            redirectAttributes.addFlashAttribute("totalCountAllOrders", totalCountAllergicOrders);
-            redirectAttributes.addFlashAttribute("allergicChildren", allergicList);
+            model.addAttribute("referenceByPointsViewModelList", adminReference);
+            model.addAttribute("totalCountOrders", totalCountOrders);
+            model.addAttribute("totalCountAllOrders", totalCountAllergicOrders);
+            model.addAttribute("allergicChildren", allergicList);
         } else {
-            redirectAttributes.addFlashAttribute("referenceAllPointsViewModelList", adminReference);
+            model.addAttribute("referenceAllPointsViewModelList", adminReference);
             Integer smallSum = getTotalCountOfSmallOrders(adminReference);
             Integer bigSum = getTotalCountOfBigOrders(adminReference);
 
             if (!adminReference.isEmpty()) {
                 List<AllergicChildViewModel> allergicList = adminReference.get(0).getAllAllergicChildren();
-                redirectAttributes.addFlashAttribute("allergicChildViewModelList", allergicList);
+                model.addAttribute("allergicChildViewModelList", allergicList);
             }
 
             Integer allergicSum = getTotalCountAllergicOrders(adminReference);
 
-            redirectAttributes.addFlashAttribute("smallSum", smallSum);
-            redirectAttributes.addFlashAttribute("bigSum", bigSum);
-            redirectAttributes.addFlashAttribute("allergicSum", allergicSum);
+            model.addAttribute("smallSum", smallSum);
+            model.addAttribute("bigSum", bigSum);
+            model.addAttribute("allergicSum", allergicSum);
         }
 
-        return "redirect:/admin";
+        return "admin";
+    }
 
+    private static boolean isEmptySearch(AdminSearchBindingModel adminSearchBindingModel) {
+        return adminSearchBindingModel.getFromDate() == null
+                && adminSearchBindingModel.getToDate() == null
+                && adminSearchBindingModel.getServicePoint() == null
+                && adminSearchBindingModel.getAgeGroup() == null;
     }
 
     private static Integer getTotalCountOfBigOrders(List<ReferenceViewModel> adminReference) {
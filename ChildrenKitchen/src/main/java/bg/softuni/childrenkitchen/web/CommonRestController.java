@@ -2,15 +2,25 @@ package bg.softuni.childrenkitchen.web;
 
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
 import bg.softuni.childrenkitchen.model.entity.enums.FoodCategoryEnum;
+import bg.softuni.childrenkitchen.model.view.ArchivedCoupon;
+import bg.softuni.childrenkitchen.model.view.ArchivedOrder;
 import bg.softuni.childrenkitchen.model.view.MenuViewModel;
+import bg.softuni.childrenkitchen.model.view.OrderCalendarViewModel;
 import bg.softuni.childrenkitchen.model.view.PointViewModel;
+import bg.softuni.childrenkitchen.model.view.ProductionSheetViewModel;
+import bg.softuni.childrenkitchen.model.view.ReferenceCacheStatsViewModel;
 import bg.softuni.childrenkitchen.model.view.UserAndChildViewModel;
 import bg.softuni.childrenkitchen.service.interfaces.*;
+import bg.softuni.childrenkitchen.service.reference.AdminReferenceCache;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,13 +34,23 @@ public class CommonRestController {
     private final PointService pointService;
     private final FoodService foodService;
     private final MenuService menuService;
+    private final OrderRollupService orderRollupService;
+    private final ProductionSheetService productionSheetService;
+    private final ArchiveService archiveService;
+    private final OrderCalendarService orderCalendarService;
+    private final AdminReferenceCache adminReferenceCache;
 
-    public CommonRestController(UserService userService, OrderService orderService, PointService pointService, FoodService foodService, MenuService menuService) {
+    public CommonRestController(UserService userService, OrderService orderService, PointService pointService, FoodService foodService, MenuService menuService, OrderRollupService orderRollupService, ProductionSheetService productionSheetService, ArchiveService archiveService, OrderCalendarService orderCalendarService, AdminReferenceCache adminReferenceCache) {
         this.userService = userService;
         this.orderService = orderService;
         this.pointService = pointService;
         this.foodService = foodService;
         this.menuService = menuService;
+        this.orderRollupService = orderRollupService;
+        this.productionSheetService = productionSheetService;
+        this.archiveService = archiveService;
+        this.orderCalendarService = orderCalendarService;
+        this.adminReferenceCache = adminReferenceCache;
     }
 
     @GetMapping("/api/points")
@@ -50,6 +70,41 @@ public class CommonRestController {
         return ResponseEntity.ok(orderDate);
     }
 
+    @GetMapping("/api/admin/add-delete-order/children/{childId}/orders")
+    public ResponseEntity<List<LocalDate>> childOrders(@PathVariable Long childId){
+        return ResponseEntity.ok(orderService.getOrdersDateOfChild(childId));
+    }
+
+    @GetMapping("/api/admin/add-delete-order/children/{childId}/calendar")
+    public ResponseEntity<OrderCalendarViewModel> childOrderCalendar(@PathVariable Long childId, @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month){
+        return ResponseEntity.ok(orderCalendarService.getOrderCalendar(childId, month));
+    }
+
+    @GetMapping("/api/admin/reference-cache/stats")
+    public ResponseEntity<ReferenceCacheStatsViewModel> referenceCacheStats(){
+        return ResponseEntity.ok(adminReferenceCache.getStats());
+    }
+
+    @PostMapping("/api/admin/orders-rollup/rebuild")
+    public ResponseEntity<Integer> rebuildOrdersRollup(){
+        return ResponseEntity.ok(orderRollupService.rebuild());
+    }
+
+    @GetMapping("/api/admin/production-sheet")
+    public ResponseEntity<ProductionSheetViewModel> getProductionSheet(@RequestParam String date){
+        return ResponseEntity.ok(productionSheetService.getProductionSheet(LocalDate.parse(date)));
+    }
+
+    @GetMapping("/api/admin/archive/orders")
+    public ResponseEntity<List<ArchivedOrder>> getArchivedOrders(@RequestParam Long childId, @RequestParam int year){
+        return ResponseEntity.ok(archiveService.getArchivedOrders(childId, year));
+    }
+
+    @GetMapping("/api/admin/archive/coupons")
+    public ResponseEntity<List<ArchivedCoupon>> getArchivedCoupons(@RequestParam Long childId, @RequestParam int year){
+        return ResponseEntity.ok(archiveService.getArchivedCoupons(childId, year));
+    }
+
     @GetMapping("/api/get-foods")
     public ResponseEntity<Map<String, Set<String>>> getAllFoods(){
         Map<String, Set<String>> foods = new HashMap<>();
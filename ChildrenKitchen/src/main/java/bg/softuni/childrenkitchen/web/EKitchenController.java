@@ -1,5 +1,6 @@
 package bg.softuni.childrenkitchen.web;
 
+import bg.softuni.childrenkitchen.exception.DuplicateOrderException;
 import bg.softuni.childrenkitchen.model.userDetail.CustomUserDetails;
 import bg.softuni.childrenkitchen.model.binding.BuyCouponsBindingModel;
 import bg.softuni.childrenkitchen.model.binding.VerifyCouponBindingModel;
@@ -94,13 +95,14 @@ public class EKitchenController {
             return "redirect:/e-kitchen";
         }
 
-        OrderViewModel orderViewModel = orderService.makeOrder(verifyCouponBindingModel.getVerifyDate(),
-                customUserDetails.getServicePointName(),
-                customUserDetails.getUsername(),
-                verifyCouponBindingModel.getChildName(),
-                customUserDetails.getUsername());
-
-        if (orderViewModel == null){
+        OrderViewModel orderViewModel;
+        try {
+            orderViewModel = orderService.makeOrder(verifyCouponBindingModel.getVerifyDate(),
+                    customUserDetails.getServicePointName(),
+                    customUserDetails.getUsername(),
+                    verifyCouponBindingModel.getChildName(),
+                    customUserDetails.getUsername());
+        } catch (DuplicateOrderException e) {
             redirectAttributes.addFlashAttribute("noMoreOrdersPerDay", true);
             return "redirect:/e-kitchen";
         }
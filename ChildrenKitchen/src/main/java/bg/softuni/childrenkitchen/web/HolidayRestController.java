@@ -0,0 +1,51 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
+import bg.softuni.childrenkitchen.model.binding.AddHolidayBindingModel;
+import bg.softuni.childrenkitchen.model.view.HolidayViewModel;
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+public class HolidayRestController {
+
+    private final WorkingDayService workingDayService;
+
+    public HolidayRestController(WorkingDayService workingDayService) {
+        this.workingDayService = workingDayService;
+    }
+
+    @GetMapping("/api/admin/holidays")
+    public ResponseEntity<List<HolidayViewModel>> getHolidays(@RequestParam int year){
+        return ResponseEntity.ok(workingDayService.getHolidays(year));
+    }
+
+    @PostMapping("/api/admin/holidays")
+    public ResponseEntity<HolidayViewModel> addHoliday(@Valid @RequestBody AddHolidayBindingModel addHolidayBindingModel,
+                                                       BindingResult bindingResult){
+
+        if (bindingResult.hasErrors()){
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(workingDayService.addHoliday(addHolidayBindingModel));
+    }
+
+    @DeleteMapping("/api/admin/holidays/{date}")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable LocalDate date){
+        workingDayService.deleteHoliday(date);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(ObjectNotFoundException.class)
+    public ResponseEntity<String> onObjectNotFound(ObjectNotFoundException onfe) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(onfe.getMessage());
+    }
+}
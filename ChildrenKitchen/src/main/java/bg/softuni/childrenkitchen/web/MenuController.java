@@ -4,7 +4,7 @@ import bg.softuni.childrenkitchen.exception.NoAvailableMenuException;
 import bg.softuni.childrenkitchen.model.binding.AddMenuBindingModel;
 import bg.softuni.childrenkitchen.model.binding.ViewMenuByDateBindingModel;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
-import bg.softuni.childrenkitchen.model.view.FoodViewModel;
+import bg.softuni.childrenkitchen.model.view.DishViewModel;
 import bg.softuni.childrenkitchen.model.view.MenuViewModel;
 import bg.softuni.childrenkitchen.service.interfaces.MenuService;
 import jakarta.validation.Valid;
@@ -16,10 +16,13 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Controller
 public class MenuController {
+    private static final DishViewModel NOT_SELECTED = new DishViewModel("не е избрано", null, null, null);
+    private static final MenuViewModel NOT_SELECTED_MENU = new MenuViewModel(null, null, null, null, NOT_SELECTED, NOT_SELECTED, NOT_SELECTED);
+
     private final MenuService menuService;
 
 
@@ -29,15 +32,11 @@ public class MenuController {
 
     @GetMapping("/menus")
     public String getWeeklyMenu(Model model){
-        List<MenuViewModel> weeklyMenu =  menuService.getWeeklyMenu();
+        Map<AgeGroupEnum, List<MenuViewModel>> weeklyMenu =  menuService.getWeeklyMenu();
 
-        model.addAttribute("smallWeeklyMenu", weeklyMenu.stream()
-                                                        .filter(m -> m.getAgeGroupName().equals("МАЛКИ"))
-                                                        .collect(Collectors.toList()));
+        model.addAttribute("smallWeeklyMenu", weeklyMenu.getOrDefault(AgeGroupEnum.МАЛКИ, List.of()));
 
-        model.addAttribute("bigWeeklyMenu",weeklyMenu.stream()
-                                                     .filter(m -> m.getAgeGroupName().equals("ГОЛЕМИ"))
-                                                     .collect(Collectors.toList()));
+        model.addAttribute("bigWeeklyMenu",weeklyMenu.getOrDefault(AgeGroupEnum.ГОЛЕМИ, List.of()));
 
         return "menus";
     }
@@ -129,13 +128,7 @@ public class MenuController {
 
     @ModelAttribute
     public MenuViewModel model() {
-        MenuViewModel model = new MenuViewModel();
-        FoodViewModel food = new FoodViewModel();
-        food.setName("не е избрано");
-        model.setSoup(food);
-        model.setMain(food);
-        model.setDessert(food);
-        return model;
+        return NOT_SELECTED_MENU;
     }
 
     @ModelAttribute
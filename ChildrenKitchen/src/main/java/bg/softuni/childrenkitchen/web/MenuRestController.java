@@ -0,0 +1,56 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.model.binding.AddMenuBindingModel;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.view.MenuImportViewModel;
+import bg.softuni.childrenkitchen.model.view.MenuViewModel;
+import bg.softuni.childrenkitchen.service.interfaces.MenuService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+public class MenuRestController {
+    private static final String CSV_CONTENT_TYPE = "text/csv";
+    private static final int MAX_RANGE_DAYS = 62;
+
+    private final MenuService menuService;
+
+    public MenuRestController(MenuService menuService) {
+        this.menuService = menuService;
+    }
+
+    @GetMapping("/api/menus")
+    public ResponseEntity<List<MenuViewModel>> getMenus(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam AgeGroupEnum ageGroup) {
+
+        if (from.isAfter(to) || from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(menuService.getMenuViewModelsByRangeAndAgeGroup(from, to, ageGroup));
+    }
+
+    @PostMapping(value = "/api/admin/menus/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MenuImportViewModel> importMenus(@RequestBody List<AddMenuBindingModel> menus) {
+        return toResponse(menuService.importMenus(menus));
+    }
+
+    @PostMapping(value = "/api/admin/menus/import", consumes = CSV_CONTENT_TYPE)
+    public ResponseEntity<MenuImportViewModel> importMenusCsv(@RequestBody String csv) {
+        return toResponse(menuService.importMenusCsv(csv));
+    }
+
+    private static ResponseEntity<MenuImportViewModel> toResponse(MenuImportViewModel result) {
+        if (!result.getErrors().isEmpty()) {
+            return ResponseEntity.badRequest().body(result);
+        }
+
+        return ResponseEntity.ok(result);
+    }
+}
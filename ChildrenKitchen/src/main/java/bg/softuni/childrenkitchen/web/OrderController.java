@@ -62,11 +62,11 @@ public class OrderController {
                               RedirectAttributes redirectAttributes){
 
         if(deleteOrderBindingModel.getDeleteOrderDate() == null ||
-                deleteOrderBindingModel.getChildName().equals("")){
+                deleteOrderBindingModel.getChildId() == null){
             return "redirect:/admin/add-delete-order";
         }
 
-        orderService.deleteOrder(deleteOrderBindingModel.getDeleteOrderDate(), deleteOrderBindingModel.getChildName());
+        orderService.deleteOrder(deleteOrderBindingModel.getChildId(), deleteOrderBindingModel.getDeleteOrderDate());
 
         redirectAttributes.addFlashAttribute("successDelete", true);
         redirectAttributes.addFlashAttribute("childName", deleteOrderBindingModel.getChildName());
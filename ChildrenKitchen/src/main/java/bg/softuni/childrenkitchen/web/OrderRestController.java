@@ -0,0 +1,158 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.exception.DuplicateOrderException;
+import bg.softuni.childrenkitchen.exception.HolidayOrderException;
+import bg.softuni.childrenkitchen.exception.NoAvailableCouponsException;
+import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
+import bg.softuni.childrenkitchen.exception.PointCapacityExceededException;
+import bg.softuni.childrenkitchen.model.binding.AddBatchOrderBindingModel;
+import bg.softuni.childrenkitchen.model.binding.BatchOrderBindingModel;
+import bg.softuni.childrenkitchen.model.binding.ClosePointBindingModel;
+import bg.softuni.childrenkitchen.model.binding.PointCapacityBindingModel;
+import bg.softuni.childrenkitchen.model.userDetail.CustomUserDetails;
+import bg.softuni.childrenkitchen.model.view.OrderCalendarViewModel;
+import bg.softuni.childrenkitchen.model.view.OrderViewModel;
+import bg.softuni.childrenkitchen.model.view.PointClosureViewModel;
+import bg.softuni.childrenkitchen.service.interfaces.OrderCalendarService;
+import bg.softuni.childrenkitchen.service.interfaces.OrderService;
+import bg.softuni.childrenkitchen.service.interfaces.PointService;
+import bg.softuni.childrenkitchen.service.interfaces.UserService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+public class OrderRestController {
+
+    private final OrderService orderService;
+    private final OrderCalendarService orderCalendarService;
+    private final UserService userService;
+    private final PointService pointService;
+
+    public OrderRestController(OrderService orderService, OrderCalendarService orderCalendarService, UserService userService, PointService pointService) {
+        this.orderService = orderService;
+        this.orderCalendarService = orderCalendarService;
+        this.userService = userService;
+        this.pointService = pointService;
+    }
+
+    @PostMapping("/api/e-kitchen/orders")
+    public ResponseEntity<List<OrderViewModel>> makeOrders(@Valid @RequestBody BatchOrderBindingModel batchOrderBindingModel,
+                                                           BindingResult bindingResult,
+                                                           @AuthenticationPrincipal CustomUserDetails customUserDetails){
+
+        if (bindingResult.hasErrors()){
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<OrderViewModel> orders = orderService.makeOrders(batchOrderBindingModel.getDates(),
+                customUserDetails.getServicePointName(),
+                customUserDetails.getUsername(),
+                batchOrderBindingModel.getChildName(),
+                customUserDetails.getUsername());
+
+        if (!orders.isEmpty()){
+            customUserDetails.getChildren().stream()
+                             .filter(c -> c.getFullName().equals(batchOrderBindingModel.getChildName()))
+                             .findFirst()
+                             .ifPresent(c -> c.setCountCoupons(orders.get(0).getRemainingCouponsCount()));
+
+            Authentication authentication = new UsernamePasswordAuthenticationToken(customUserDetails, customUserDetails.getPassword(), customUserDetails.getAuthorities());
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        return ResponseEntity.ok(orders);
+    }
+
+    @GetMapping("/api/e-kitchen/calendar")
+    public ResponseEntity<OrderCalendarViewModel> getOrderCalendar(@RequestParam String childName,
+                                                                   @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+                                                                   @AuthenticationPrincipal CustomUserDetails customUserDetails){
+
+        Long childId = userService.getChildByNames(childName, customUserDetails.getUsername())
+                                  .getId();
+
+        return ResponseEntity.ok(orderCalendarService.getOrderCalendar(childId, month));
+    }
+
+    @PostMapping("/api/admin/add-delete-order/orders")
+    public ResponseEntity<List<OrderViewModel>> addOrders(@Valid @RequestBody AddBatchOrderBindingModel addBatchOrderBindingModel,
+                                                          BindingResult bindingResult,
+                                                          @AuthenticationPrincipal CustomUserDetails loggedInUser){
+
+        if (bindingResult.hasErrors()){
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(orderService.makeOrders(addBatchOrderBindingModel.getDates(),
+                addBatchOrderBindingModel.getServicePoint(),
+                addBatchOrderBindingModel.getUserEmail(),
+                addBatchOrderBindingModel.getChildFullName(),
+                loggedInUser.getUsername()));
+    }
+
+    @DeleteMapping("/api/admin/add-delete-order/children/{childId}/orders/{date}")
+    public ResponseEntity<Long> deleteOrder(@PathVariable Long childId, @PathVariable LocalDate date){
+        return ResponseEntity.ok(orderService.deleteOrder(childId, date));
+    }
+
+    @PostMapping("/api/admin/points/close")
+    public ResponseEntity<PointClosureViewModel> closePoint(@Valid @RequestBody ClosePointBindingModel closePointBindingModel,
+                                                            BindingResult bindingResult){
+
+        if (bindingResult.hasErrors()){
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(orderService.closePoint(closePointBindingModel.getServicePoint(), closePointBindingModel.getDates()));
+    }
+
+    @PutMapping("/api/admin/points/capacity")
+    public ResponseEntity<Void> setPointCapacity(@Valid @RequestBody PointCapacityBindingModel pointCapacityBindingModel,
+                                                 BindingResult bindingResult){
+
+        if (bindingResult.hasErrors()){
+            return ResponseEntity.badRequest().build();
+        }
+
+        pointService.setDailyCapacity(pointCapacityBindingModel.getServicePoint(), pointCapacityBindingModel.getDailyCapacity());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(NoAvailableCouponsException.class)
+    public ResponseEntity<String> onNoAvailableCoupons(NoAvailableCouponsException nace) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(nace.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateOrderException.class)
+    public ResponseEntity<String> onDuplicateOrder(DuplicateOrderException doe) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(doe.getMessage());
+    }
+
+    @ExceptionHandler(PointCapacityExceededException.class)
+    public ResponseEntity<String> onPointCapacityExceeded(PointCapacityExceededException pcee) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(pcee.getMessage());
+    }
+
+    @ExceptionHandler(HolidayOrderException.class)
+    public ResponseEntity<String> onHolidayOrder(HolidayOrderException hoe) {
+        return ResponseEntity.badRequest().body(hoe.getMessage());
+    }
+
+    @ExceptionHandler(ObjectNotFoundException.class)
+    public ResponseEntity<String> onObjectNotFound(ObjectNotFoundException onfe) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(onfe.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.service.interfaces.ProductionSheetService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+
+@Controller
+public class ProductionSheetController {
+    private final ProductionSheetService productionSheetService;
+
+    public ProductionSheetController(ProductionSheetService productionSheetService) {
+        this.productionSheetService = productionSheetService;
+    }
+
+    @GetMapping("/admin/production-sheet")
+    public String getProductionSheet(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                     Model model) {
+
+        model.addAttribute("productionSheet", productionSheetService.getProductionSheet(date == null ? LocalDate.now() : date));
+
+        return "production-sheet";
+    }
+}
@@ -56,9 +56,11 @@ function populateFields(){
         optionAdd.value = child;
         optionAdd.text = child;
         childrenSelect.appendChild(optionAdd);
+    }
 
+    for(let [childId, child] of Object.entries(object.childrenByIds)){
         let optionDel = document.createElement("option");
-        optionDel.value = child;
+        optionDel.value = childId;
         optionDel.text = child;
         deleteOrderChildren.appendChild(optionDel);
     }
@@ -72,12 +74,14 @@ function populateFields(){
 }
 
 function populateOrders(){
-    let childName = document.getElementById("delete-applicant-child").value;
-    let userEmail = resultSelect.value;
+    let childSelect = document.getElementById("delete-applicant-child");
+    let childId = childSelect.value;
+
+    document.getElementById("delete-child-name").value = childSelect.options[childSelect.selectedIndex].text;
 
     dateSelect.innerHTML = '';
 
-    fetch(`http://localhost:8080/api/admin/add-delete-order/allOrders?childName=${childName}&&userEmail=${userEmail}`)
+    fetch(`http://localhost:8080/api/admin/add-delete-order/children/${childId}/orders`)
         .then(response => response.json())
         .then(data => data.forEach(date => {
             let option = document.createElement("option");
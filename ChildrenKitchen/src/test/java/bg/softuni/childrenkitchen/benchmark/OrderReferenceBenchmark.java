@@ -0,0 +1,123 @@
+package bg.softuni.childrenkitchen.benchmark;
+
+import bg.softuni.childrenkitchen.model.entity.AllergyEntity;
+import bg.softuni.childrenkitchen.model.entity.ChildEntity;
+import bg.softuni.childrenkitchen.model.entity.OrderEntity;
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergyEnum;
+import bg.softuni.childrenkitchen.service.reference.OrderReferenceAggregator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+//run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=bg.softuni.childrenkitchen.benchmark.OrderReferenceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReferenceBenchmark {
+
+    @Param({"1000000"})
+    private int ordersCount;
+
+    @Param({"12"})
+    private int pointsCount;
+
+    private List<OrderEntity> orders;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+
+        List<PointEntity> points = new ArrayList<>();
+        for (int i = 0; i < pointsCount; i++) {
+            PointEntity point = new PointEntity();
+            point.setName("Point " + i);
+            points.add(point);
+        }
+
+        AllergyEntity none = new AllergyEntity();
+        none.setAllergenName(AllergyEnum.НЯМА);
+        AllergyEntity milk = new AllergyEntity();
+        milk.setAllergenName(AllergyEnum.МЛЯКО);
+
+        List<ChildEntity> children = new ArrayList<>();
+        for (long i = 0; i < 20_000; i++) {
+            ChildEntity child = new ChildEntity();
+            child.setId(i);
+            child.setFullName("Child " + i);
+            child.setAgeGroup(random.nextBoolean() ? AgeGroupEnum.МАЛКИ : AgeGroupEnum.ГОЛЕМИ);
+            child.setAllergies(Set.of(random.nextInt(10) == 0 ? milk : none));
+            children.add(child);
+        }
+
+        LocalDate firstDay = LocalDate.of(2023, 9, 15);
+        orders = new ArrayList<>(ordersCount);
+        for (int i = 0; i < ordersCount; i++) {
+            OrderEntity order = new OrderEntity();
+            order.setDate(firstDay.plusDays(random.nextInt(270)));
+            order.setChild(children.get(random.nextInt(children.size())));
+            order.setServicePoint(points.get(random.nextInt(points.size())));
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        OrderReferenceAggregator aggregator = new OrderReferenceAggregator();
+        orders.forEach(aggregator::add);
+
+        for (String point : aggregator.getPoints()) {
+            blackhole.consume(aggregator.countOrders(point, AgeGroupEnum.МАЛКИ));
+            blackhole.consume(aggregator.countOrders(point, AgeGroupEnum.ГОЛЕМИ));
+            blackhole.consume(aggregator.countAllergicOrders(point));
+        }
+        blackhole.consume(aggregator.getAllergicChildren());
+    }
+
+    @Benchmark
+    public void streamPerPoint(Blackhole blackhole) {
+        List<String> points = orders.stream()
+                                    .map(o -> o.getServicePoint().getName())
+                                    .distinct()
+                                    .toList();
+
+        for (String point : points) {
+            blackhole.consume(orders.stream()
+                                    .filter(o -> o.getChild().getAgeGroup() == AgeGroupEnum.МАЛКИ)
+                                    .filter(o -> o.getServicePoint().getName().equals(point))
+                                    .toList().size());
+            blackhole.consume(orders.stream()
+                                    .filter(o -> o.getChild().getAgeGroup() == AgeGroupEnum.ГОЛЕМИ)
+                                    .filter(o -> o.getServicePoint().getName().equals(point))
+                                    .toList().size());
+            blackhole.consume(orders.stream()
+                                    .filter(o -> o.getServicePoint().getName().equals(point))
+                                    .map(OrderEntity::getChild)
+                                    .filter(ChildEntity::isAllergic)
+                                    .toList().size());
+        }
+        blackhole.consume(orders.stream()
+                                .map(OrderEntity::getChild)
+                                .filter(ChildEntity::isAllergic)
+                                .distinct()
+                                .toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderReferenceBenchmark.class.getSimpleName())
+                                       .build()).run();
+    }
+}
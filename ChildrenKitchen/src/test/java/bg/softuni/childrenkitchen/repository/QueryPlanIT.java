@@ -0,0 +1,209 @@
+package bg.softuni.childrenkitchen.repository;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergyEnum;
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class QueryPlanIT {
+    private static final String NOT_ADMIN_MAIL = "user@test.bg";
+    private static final int CHILDREN = 300;
+    private static final int DAYS = 100;
+    private static final int FREE_COUPONS_PER_CHILD = 20;
+    private static final int RUNS = 25;
+    private static final long BUDGET_MILLIS = 50;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 9, 15);
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private MenusRepository menusRepository;
+
+    private Long childId;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.initAllergens();
+        testDataUtil.initFood();
+        seed();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        //the seeded rows are removed with plain statements, deleteAll() would load them one by one
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM coupons");
+        jdbcTemplate.update("DELETE FROM menus");
+        jdbcTemplate.update("DELETE FROM children WHERE full_name LIKE 'Seeded %'");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'seeded%'");
+        testDataUtil.cleanUpDateBase();
+    }
+
+    @Test
+    void testCompositeIndexesMustBeDeclared() {
+        Set<String> indexes = jdbcTemplate.queryForList("SELECT DISTINCT INDEX_NAME FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO " +
+                                                                "WHERE TABLE_SCHEM = 'PUBLIC'", String.class)
+                                          .stream()
+                                          .collect(Collectors.toSet());
+
+        Assertions.assertTrue(indexes.containsAll(Set.of("IDX_ORDERS_DATE_POINT",
+                                                         "UK_ORDERS_CHILD_DATE_PRIMARY",
+                                                         "IDX_COUPONS_OWNER_VERIFIED_DATE",
+                                                         "UK_MENUS_DATE_AGE_GROUP")), indexes.toString());
+    }
+
+    @Test
+    void testHotQueriesMustUseCompositeIndexes() {
+        assertPlanUses("IDX_ORDERS_DATE_POINT",
+                "SELECT o.id FROM orders o WHERE o.date BETWEEN DATE '2023-10-01' AND DATE '2023-10-31'");
+
+        assertPlanUses("IDX_ORDERS_DATE_POINT",
+                "SELECT o.id FROM orders o JOIN children c ON o.child_id = c.id " +
+                        "WHERE o.date = DATE '2023-10-02' AND c.full_name = 'Seeded 1'");
+
+        assertPlanUses("UK_ORDERS_CHILD_DATE_PRIMARY",
+                "SELECT o.date FROM orders o WHERE o.child_id = " + childId + " AND o.date = DATE '2023-10-02'");
+
+        assertPlanUses("IDX_COUPONS_OWNER_VERIFIED_DATE",
+                "SELECT c.id FROM coupons c WHERE c.owner_id = " + childId + " AND c.\"verified-date\" IS NULL ORDER BY c.id LIMIT 1");
+
+        assertPlanUses("UK_MENUS_DATE_AGE_GROUP",
+                "SELECT m.id FROM menus m WHERE m.date = DATE '2023-10-02' AND m.\"age-group\" = 'ГОЛЕМИ'");
+    }
+
+    @Test
+    void testHotFindersMustStayWithinLatencyBudget() {
+        LocalDate day = FIRST_DAY.plusDays(DAYS / 2);
+        List<LocalDate> week = List.of(day, day.plusDays(1), day.plusDays(2), day.plusDays(3), day.plusDays(4));
+
+        assertWithinBudget("existsByChildIdAndDate", () -> orderRepository.existsByChildIdAndDate(childId, day));
+        assertWithinBudget("findDatesByChildId", () -> orderRepository.findDatesByChildId(childId));
+        assertWithinBudget("findDeletedOrderRows", () -> orderRepository.findDeletedOrderRows(childId, day, AllergyEnum.НЯМА, PageRequest.of(0, 1)));
+        assertWithinBudget("findDatesByChildIdAndDateIn", () -> orderRepository.findDatesByChildIdAndDateIn(childId, week));
+        assertWithinBudget("findProductionSheetRows", () -> orderRepository.findProductionSheetRows(day, day));
+        assertWithinBudget("findActiveOrderRows", () -> orderRepository.findActiveOrderRows(NOT_ADMIN_MAIL, day));
+        assertWithinBudget("findFreeCoupons", () -> transactionTemplate.executeWithoutResult(
+                status -> couponRepository.findFreeCoupons(childId, PageRequest.of(0, week.size()))));
+        assertWithinBudget("countByOwnerIdAndVerifiedDateIsNull", () -> couponRepository.countByOwnerIdAndVerifiedDateIsNull(childId));
+        assertWithinBudget("findByDateAndAgeGroup", () -> menusRepository.findByDateAndAgeGroup(day, AgeGroupEnum.ГОЛЕМИ));
+        assertWithinBudget("findAllByDateInAndAgeGroup", () -> menusRepository.findAllByDateInAndAgeGroup(week, AgeGroupEnum.ГОЛЕМИ));
+    }
+
+    private void assertPlanUses(String index, String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN PLAN FOR " + sql, String.class));
+
+        Assertions.assertTrue(plan.contains("index=" + index), plan);
+    }
+
+    private void assertWithinBudget(String finder, Runnable query) {
+        //warm up the statement cache and the jit before measuring
+        for (int i = 0; i < RUNS; i++) {
+            query.run();
+        }
+
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            timings[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(timings);
+        long medianMillis = timings[RUNS / 2] / 1_000_000;
+
+        Assertions.assertTrue(medianMillis <= BUDGET_MILLIS, finder + " took " + medianMillis + " ms");
+    }
+
+    private void seed() {
+        List<Long> pointIds = jdbcTemplate.queryForList("SELECT id FROM points", Long.class);
+        Long soupId = jdbcTemplate.queryForObject("SELECT id FROM foods WHERE name = 'Supichka'", Long.class);
+        Long mainId = jdbcTemplate.queryForObject("SELECT id FROM foods WHERE name = 'Prase'", Long.class);
+        Long dessertId = jdbcTemplate.queryForObject("SELECT id FROM foods WHERE name = 'Sladko'", Long.class);
+
+        //two children per family, the eager user -> children -> coupons graph stays realistic
+        List<Object[]> parents = new ArrayList<>();
+        for (int i = 0; i < CHILDREN / 2; i++) {
+            parents.add(new Object[]{"seeded" + i + "@test.bg", "Seeded Parent " + i, pointIds.get(i % pointIds.size())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, full_name, city, phone_number, service_point_id) " +
+                "VALUES (?, 'test', ?, 'ПЛЕВЕН', '0888888888', ?)", parents);
+
+        List<Long> parentIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'seeded%' ORDER BY id", Long.class);
+
+        List<Object[]> children = new ArrayList<>();
+        for (int i = 0; i < CHILDREN; i++) {
+            children.add(new Object[]{"Seeded " + i, Date.valueOf(LocalDate.of(2020, 1, 1)), AgeGroupEnum.values()[i % 2].name(), parentIds.get(i / 2)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO children (full_name, birth_date, age_group, parent_id, birth_cert_url, medical_list_url) " +
+                "VALUES (?, ?, ?, ?, 'seeded', 'seeded')", children);
+
+        List<Long> childIds = jdbcTemplate.queryForList("SELECT id FROM children WHERE full_name LIKE 'Seeded %' ORDER BY id", Long.class);
+        childId = childIds.get(CHILDREN / 2);
+
+        List<Object[]> coupons = new ArrayList<>();
+        List<Object[]> orders = new ArrayList<>();
+        for (int c = 0; c < childIds.size(); c++) {
+            Long id = childIds.get(c);
+            String ageGroup = AgeGroupEnum.values()[c % 2].name();
+
+            for (int d = 0; d < DAYS; d++) {
+                Date date = Date.valueOf(FIRST_DAY.plusDays(d));
+                coupons.add(new Object[]{BigDecimal.valueOf(0.8), ageGroup, date, id});
+                orders.add(new Object[]{date, parentIds.get(c / 2), id, pointIds.get(c % pointIds.size())});
+            }
+            for (int f = 0; f < FREE_COUPONS_PER_CHILD; f++) {
+                coupons.add(new Object[]{BigDecimal.valueOf(0.8), ageGroup, null, id});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO coupons (price, age_group, \"verified-date\", owner_id) VALUES (?, ?, ?, ?)", coupons);
+        jdbcTemplate.batchUpdate("INSERT INTO orders (date, user_id, child_id, service_point_id) VALUES (?, ?, ?, ?)", orders);
+
+        List<Object[]> menus = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            for (AgeGroupEnum ageGroup : AgeGroupEnum.values()) {
+                menus.add(new Object[]{Date.valueOf(FIRST_DAY.plusDays(d)), ageGroup.name(), soupId, mainId, dessertId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menus (date, \"age-group\", soup_id, main_id, dessert_id) VALUES (?, ?, ?, ?, ?)", menus);
+    }
+}
@@ -0,0 +1,97 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.exception.NoAvailableCouponsException;
+import bg.softuni.childrenkitchen.model.entity.CouponEntity;
+import bg.softuni.childrenkitchen.service.interfaces.CouponService;
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CouponServiceIT {
+    private static final String ADMIN_MAIL = "admin@test.com";
+    private static final String NOT_ADMIN_MAIL = "user@test.bg";
+    private static final int FREE_COUPONS = 100;
+    private static final int CLAIMS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @Autowired
+    private CouponService couponService;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.buyCouponsByUser(FREE_COUPONS - 1);
+    }
+
+    @AfterEach
+    void cleanDB() {
+        testDataUtil.cleanUpDateBase();
+    }
+
+    @Test
+    void testParallelClaimsMustNeverShareCoupon() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Set<Long> claimedIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicInteger noCoupons = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < CLAIMS; i++) {
+            LocalDate forDate = LocalDate.now().plusDays(i);
+
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    CouponEntity coupon = couponService.getAndVerifyCoupon(NOT_ADMIN_MAIL, "TestChild2", forDate);
+                    claimedIds.add(coupon.getId());
+                    claimed.incrementAndGet();
+                } catch (NoAvailableCouponsException e) {
+                    noCoupons.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(FREE_COUPONS, claimed.get());
+        Assertions.assertEquals(FREE_COUPONS, claimedIds.size());
+        Assertions.assertEquals(CLAIMS - FREE_COUPONS, noCoupons.get());
+        Assertions.assertEquals(FREE_COUPONS, testDataUtil.countVerifiedCoupons());
+    }
+
+    @Test
+    void testClaimWithoutFreeCouponsMustThrow() {
+        couponService.getAndVerifyCoupon(ADMIN_MAIL, "TestChild", LocalDate.now());
+
+        Assertions.assertThrows(NoAvailableCouponsException.class,
+                () -> couponService.getAndVerifyCoupon(ADMIN_MAIL, "TestChild", LocalDate.now()));
+    }
+}
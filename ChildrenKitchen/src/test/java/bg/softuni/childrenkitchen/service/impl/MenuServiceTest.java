@@ -0,0 +1,137 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.binding.AddMenuBindingModel;
+import bg.softuni.childrenkitchen.model.entity.AllergenEntity;
+import bg.softuni.childrenkitchen.model.entity.DailyManuEntity;
+import bg.softuni.childrenkitchen.model.entity.FoodEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.AllergensEnum;
+import bg.softuni.childrenkitchen.model.entity.enums.FoodCategoryEnum;
+import bg.softuni.childrenkitchen.model.view.MenuViewModel;
+import bg.softuni.childrenkitchen.repository.MenusRepository;
+import bg.softuni.childrenkitchen.service.interfaces.FoodService;
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
+import bg.softuni.childrenkitchen.service.menu.WeeklyMenuCache;
+import bg.softuni.childrenkitchen.service.version.DatasetVersions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MenuServiceTest {
+    private static final LocalDate MONDAY = LocalDate.now().with(DayOfWeek.MONDAY);
+    private static final LocalDate WEDNESDAY = MONDAY.plusDays(2);
+
+    @Mock
+    private MenusRepository mockMenusRepo;
+    @Mock
+    private FoodService mockFoodService;
+    @Mock
+    private ApplicationEventPublisher mockPublisher;
+    @Mock
+    private WorkingDayService mockWorkingDayService;
+
+    private MenuServiceImpl toTest;
+    private DailyManuEntity testMenu;
+
+    @BeforeEach
+    void setup() {
+        toTest = new MenuServiceImpl(mockMenusRepo, mockFoodService, mockPublisher, mockWorkingDayService, new WeeklyMenuCache(mockWorkingDayService), new DatasetVersions());
+
+        testMenu = new DailyManuEntity();
+        testMenu.setDate(WEDNESDAY);
+        testMenu.setAgeGroup(AgeGroupEnum.ГОЛЕМИ);
+        testMenu.setSoup(food("Supichka", FoodCategoryEnum.СУПА));
+        testMenu.setMain(food("Prase", FoodCategoryEnum.ОСНОВНО));
+        testMenu.setDessert(food("Sladko", FoodCategoryEnum.ДЕСЕРТ));
+
+        when(mockWorkingDayService.getWorkingWeek(any())).thenReturn(List.of(MONDAY, MONDAY.plusDays(4)));
+        when(mockMenusRepo.findAllWithFoodsByDateBetween(MONDAY, MONDAY.plusDays(13))).thenReturn(List.of(testMenu));
+    }
+
+    @Test
+    public void testGetWeeklyMenuMustQueryDatabaseOnlyOnce() {
+        toTest.getWeeklyMenu();
+        List<MenuViewModel> weeklyMenu = toTest.getWeeklyMenu().get(AgeGroupEnum.ГОЛЕМИ);
+
+        Assertions.assertEquals(1, weeklyMenu.size());
+        Assertions.assertEquals("Supichka", weeklyMenu.get(0).getSoup().getName());
+        verify(mockMenusRepo, times(1)).findAllWithFoodsByDateBetween(any(), any());
+    }
+
+    @Test
+    public void testEditMenuMustWriteThroughToWeeklyMenu() {
+        toTest.getWeeklyMenu();
+
+        AddMenuBindingModel edit = new AddMenuBindingModel();
+        edit.setSoup("Bob");
+        edit.setMain("Prase");
+        edit.setDessert("Sladko");
+
+        when(mockMenusRepo.findByDateAndAgeGroup(WEDNESDAY, AgeGroupEnum.ГОЛЕМИ)).thenReturn(Optional.of(testMenu));
+        when(mockFoodService.getByName("Bob")).thenReturn(Optional.of(food("Bob", FoodCategoryEnum.СУПА)));
+        when(mockFoodService.getByName("Prase")).thenReturn(Optional.of(testMenu.getMain()));
+        when(mockFoodService.getByName("Sladko")).thenReturn(Optional.of(testMenu.getDessert()));
+        when(mockMenusRepo.save(testMenu)).thenReturn(testMenu);
+
+        toTest.editMenu(WEDNESDAY, AgeGroupEnum.ГОЛЕМИ, edit);
+
+        Assertions.assertEquals("Bob", toTest.getWeeklyMenu().get(AgeGroupEnum.ГОЛЕМИ).get(0).getSoup().getName());
+        verify(mockMenusRepo, times(1)).findAllWithFoodsByDateBetween(any(), any());
+    }
+
+    @Test
+    public void testMenuSnapshotMustBePrecomputedAndShared() {
+        testMenu.getDessert().setAllergens(Set.of(new AllergenEntity().setName(AllergensEnum.КИСЕЛО_МЛЯКО.name())));
+        toTest.rolloverWeeklyMenu();
+
+        MenuViewModel snapshot = toTest.getWeeklyMenu().get(AgeGroupEnum.ГОЛЕМИ).get(0);
+
+        Assertions.assertEquals("Сряда", snapshot.getDayOfWeek());
+        Assertions.assertTrue(snapshot.getDate().endsWith(String.valueOf(WEDNESDAY.getYear())));
+        Assertions.assertEquals("кисело мляко", snapshot.getDessert().getAllergens());
+        Assertions.assertSame(snapshot, toTest.getMenuViewModelByDateAndAgeGroup(WEDNESDAY, AgeGroupEnum.ГОЛЕМИ));
+        verify(mockMenusRepo, never()).findByDateAndAgeGroup(any(), any());
+    }
+
+    @Test
+    public void testMenusByRangeMustReuseCachedWeeks() {
+        toTest.rolloverWeeklyMenu();
+
+        List<MenuViewModel> menus = toTest.getMenuViewModelsByRangeAndAgeGroup(MONDAY, MONDAY.plusDays(13), AgeGroupEnum.ГОЛЕМИ);
+
+        Assertions.assertEquals(1, menus.size());
+        Assertions.assertSame(toTest.getWeeklyMenu().get(AgeGroupEnum.ГОЛЕМИ).get(0), menus.get(0));
+        verify(mockMenusRepo, never()).findAllWithFoodsByDateBetweenAndAgeGroup(any(), any(), any());
+    }
+
+    @Test
+    public void testRolloverMustReplaceCachedWeeks() {
+        toTest.getWeeklyMenu();
+        toTest.rolloverWeeklyMenu();
+        toTest.getWeeklyMenu();
+
+        verify(mockMenusRepo, times(2)).findAllWithFoodsByDateBetween(any(), any());
+    }
+
+    private static FoodEntity food(String name, FoodCategoryEnum category) {
+        return new FoodEntity().setName(name)
+                               .setCategory(category)
+                               .setAgeGroup(AgeGroupEnum.ГОЛЕМИ)
+                               .setAllergens(new HashSet<>());
+    }
+}
@@ -2,12 +2,21 @@ package bg.softuni.childrenkitchen.service.impl;
 
 import bg.softuni.childrenkitchen.model.entity.*;
 import bg.softuni.childrenkitchen.model.entity.enums.*;
+import bg.softuni.childrenkitchen.model.binding.AdminSearchBindingModel;
+import bg.softuni.childrenkitchen.model.event.OrderPlacedEvent;
+import bg.softuni.childrenkitchen.model.view.ActiveOrderRow;
+import bg.softuni.childrenkitchen.model.view.AllergicChildViewModel;
 import bg.softuni.childrenkitchen.model.view.ChildViewModel;
-import bg.softuni.childrenkitchen.model.view.FoodViewModel;
+import bg.softuni.childrenkitchen.model.view.DishViewModel;
 import bg.softuni.childrenkitchen.model.view.MenuViewModel;
+import bg.softuni.childrenkitchen.model.view.OrderReferenceCount;
 import bg.softuni.childrenkitchen.model.view.OrderViewModel;
+import bg.softuni.childrenkitchen.model.view.ReferenceViewModel;
 import bg.softuni.childrenkitchen.repository.OrderRepository;
 import bg.softuni.childrenkitchen.service.interfaces.*;
+import bg.softuni.childrenkitchen.service.reference.AdminReferenceCache;
+import bg.softuni.childrenkitchen.exception.DuplicateOrderException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,15 +24,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +50,7 @@ public class OrderServiceTest {
 
     @Mock
     private OrderService mockOrderServiceToTest;
+    private AdminReferenceCache adminReferenceCache;
 
     private static final String NOT_ADMIN_MAIL = "user@test.bg";
     @Mock
@@ -46,14 +66,23 @@ public class OrderServiceTest {
     @Mock
     private PointService mockPointService;
     @Mock
+    private OrderRollupService mockOrderRollupService;
+    @Mock
     private ModelMapper mockModelMapper;
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+    @Mock
+    private WorkingDayService mockWorkingDayService;
+    @Mock
+    private PointCapacityService mockPointCapacityService;
 
     private UserEntity testUser;
     private OrderEntity order;
 
     @BeforeEach
     void setup(){
-        mockOrderServiceToTest = new OrderServiceImpl(mockOrderRepo, mockUserService,mockMenuService,mockCouponService, mockPointService, mockModelMapper);
+        adminReferenceCache = new AdminReferenceCache();
+        mockOrderServiceToTest = new OrderServiceImpl(mockOrderRepo, mockUserService,mockMenuService,mockCouponService, mockPointService, mockOrderRollupService, mockModelMapper, mockEventPublisher, mockWorkingDayService, adminReferenceCache, mockPointCapacityService);
         PointEntity testPoint = new PointEntity();
         testPoint.setName("Kitchen");
         testPoint.setAddress("somewhere");
@@ -120,34 +149,29 @@ public class OrderServiceTest {
 
     @Test
     public void testGetActiveOrdersMustNewArrayListIfNouOrders(){
-        when(mockOrderRepo.findAllByUserEmail(testUser.getEmail()))
-                .thenReturn(Optional.of(List.of()));
+        when(mockOrderRepo.findActiveOrderRows(testUser.getEmail(), LocalDate.now()))
+                .thenReturn(List.of());
 
         Assertions.assertEquals(0, mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL).size());
     }
 
     @Test
     public void testGetActiveOrdersMustValidData(){
-        when(mockOrderRepo.findAllByUserEmail(testUser.getEmail()))
-                .thenReturn(Optional.of(List.of(order)));
-
-        MenuViewModel viewModel = new MenuViewModel();
-        viewModel.setDate(order.getDate().toString());
-        viewModel.setDessert(new FoodViewModel().setName("Dessert").setAllergens(AllergensEnum.ГЛУТЕН.name()).setCategoryName(FoodCategoryEnum.ДЕСЕРТ.name()).setAgeGroupName(order.getChild().getAgeGroup().name()));
-        viewModel.setMain(new FoodViewModel().setName("Main").setAllergens(AllergensEnum.ЦЕЛИНА.name()).setCategoryName(FoodCategoryEnum.ОСНОВНО.name()).setAgeGroupName(order.getChild().getAgeGroup().name()));
-        viewModel.setSoup(new FoodViewModel().setName("Soup").setAllergens(AllergensEnum.ЯЙЦА.name()).setCategoryName(FoodCategoryEnum.СУПА.name()).setAgeGroupName(order.getChild().getAgeGroup().name()));
-        viewModel.setLocalDate(order.getDate());
-        viewModel.setDayOfWeek(order.getDate().getDayOfWeek().toString());
-        viewModel.setAgeGroupName(order.getChild().getAgeGroup().name());
-
-        when(mockMenuService.getMenuViewModelByDateAndAgeGroup(order.getDate(), order.getChild()
-                                                                                     .getAgeGroup()))
-                .thenReturn(viewModel);
-
-        Assertions.assertEquals(1, mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL).size());
-        Assertions.assertEquals(testUser.getChildren().stream().findFirst().get().getFullName(), mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL).get(0).getChildNames());
-        Assertions.assertEquals(2, mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL).get(0).getRemainingCouponsCount());
+        when(mockOrderRepo.findActiveOrderRows(testUser.getEmail(), LocalDate.now()))
+                .thenReturn(List.of(mapToActiveOrderRow(order)));
 
+        MenuViewModel viewModel = createMenuViewModel(order);
+
+        when(mockMenuService.getMenuViewModelsByDatesAndAgeGroup(Set.of(order.getDate()), order.getChild()
+                                                                                              .getAgeGroup()))
+                .thenReturn(Map.of(order.getDate(), viewModel));
+
+        List<OrderViewModel> activeOrders = mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL);
+
+        Assertions.assertEquals(1, activeOrders.size());
+        Assertions.assertEquals(testUser.getChildren().stream().findFirst().get().getFullName(), activeOrders.get(0).getChildNames());
+        Assertions.assertEquals(2, activeOrders.get(0).getRemainingCouponsCount());
+        Assertions.assertEquals(viewModel, activeOrders.get(0).getMenuViewModel());
     }
 
 
@@ -166,34 +190,179 @@ public class OrderServiceTest {
         order1.setServicePoint(testUser.getServicePoint());
         order1.setUser(testUser);
 
+        //the repository returns them newest first
+        when(mockOrderRepo.findActiveOrderRows(testUser.getEmail(), LocalDate.now()))
+                .thenReturn(List.of(mapToActiveOrderRow(order1), mapToActiveOrderRow(order)));
+
+        when(mockMenuService.getMenuViewModelsByDatesAndAgeGroup(Set.of(order.getDate(), order1.getDate()), order.getChild()
+                                                                                                                 .getAgeGroup()))
+                .thenReturn(Map.of(order.getDate(), createMenuViewModel(order), order1.getDate(), createMenuViewModel(order1)));
 
-        when(mockOrderRepo.findAllByUserEmail(testUser.getEmail()))
-                .thenReturn(Optional.of(List.of(order, order1)));
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd LLLL yyyy");
 
-        MenuViewModel viewModel = new MenuViewModel();
-        viewModel.setDate(order.getDate().toString());
-        viewModel.setDessert(new FoodViewModel().setName("Dessert").setAllergens(AllergensEnum.ГЛУТЕН.name()).setCategoryName(FoodCategoryEnum.ДЕСЕРТ.name()).setAgeGroupName(order.getChild().getAgeGroup().name()));
-        viewModel.setMain(new FoodViewModel().setName("Main").setAllergens(AllergensEnum.ЦЕЛИНА.name()).setCategoryName(FoodCategoryEnum.ОСНОВНО.name()).setAgeGroupName(order.getChild().getAgeGroup().name()));
-        viewModel.setSoup(new FoodViewModel().setName("Soup").setAllergens(AllergensEnum.ЯЙЦА.name()).setCategoryName(FoodCategoryEnum.СУПА.name()).setAgeGroupName(order.getChild().getAgeGroup().name()));
-        viewModel.setLocalDate(order.getDate());
-        viewModel.setDayOfWeek(order.getDate().getDayOfWeek().toString());
-        viewModel.setAgeGroupName(order.getChild().getAgeGroup().name());
+        List<OrderViewModel> activeOrders = mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL);
 
-        when(mockMenuService.getMenuViewModelByDateAndAgeGroup(order.getDate(), order.getChild()
-                                                                                     .getAgeGroup()))
-                .thenReturn(viewModel);
+        Assertions.assertEquals(2, activeOrders.size());
+        Assertions.assertEquals(formatter.format(LocalDate.now().plusDays(7)), activeOrders.get(0).getDate());
+        Assertions.assertEquals(order1.getDate(), activeOrders.get(0).getMenuViewModel().getLocalDate());
+        verify(mockMenuService, times(1)).getMenuViewModelsByDatesAndAgeGroup(anySet(), any(AgeGroupEnum.class));
+    }
 
-        when(mockMenuService.getMenuViewModelByDateAndAgeGroup(order1.getDate(), order1.getChild()
-                                                                                     .getAgeGroup()))
-                .thenReturn(viewModel);
+    private ActiveOrderRow mapToActiveOrderRow(OrderEntity orderEntity) {
+        return new ActiveOrderRow(orderEntity.getDate(),
+                orderEntity.getChild().getFullName(),
+                orderEntity.getServicePoint().getName(),
+                orderEntity.getCoupon().getAgeGroup(),
+                orderEntity.getChild().getCoupons().stream().filter(c -> c.getVerifiedDate() == null).count());
+    }
 
+    private MenuViewModel createMenuViewModel(OrderEntity orderEntity) {
+        String ageGroup = orderEntity.getChild().getAgeGroup().name();
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd LLLL yyyy");
+        return new MenuViewModel(orderEntity.getDate(),
+                orderEntity.getDate().toString(),
+                orderEntity.getDate().getDayOfWeek().toString(),
+                ageGroup,
+                new DishViewModel("Soup", ageGroup, FoodCategoryEnum.СУПА.name(), AllergensEnum.ЯЙЦА.name()),
+                new DishViewModel("Main", ageGroup, FoodCategoryEnum.ОСНОВНО.name(), AllergensEnum.ЦЕЛИНА.name()),
+                new DishViewModel("Dessert", ageGroup, FoodCategoryEnum.ДЕСЕРТ.name(), AllergensEnum.ГЛУТЕН.name()));
+    }
 
-        Assertions.assertEquals(2, mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL).size());
 
-        Assertions.assertEquals(formatter.format(LocalDate.now().plusDays(7)), mockOrderServiceToTest.getActiveOrders(NOT_ADMIN_MAIL).get(0).getDate());
+    @Test
+    public void testGetAdminReferenceByPointsMustUseRollupCounts(){
+        AdminSearchBindingModel search = new AdminSearchBindingModel();
+        search.setFromDate(order.getDate());
+        search.setToDate(order.getDate().plusDays(1));
+        search.setServicePoint("All");
+        search.setAgeGroup("All");
+
+        when(mockOrderRollupService.getReferenceCounts(search.getFromDate(), search.getToDate(), "All", "All"))
+                .thenReturn(List.of(new OrderReferenceCount("Kitchen", AgeGroupEnum.ГОЛЕМИ, 2L, 2L)));
+        when(mockOrderRepo.findAllergicChildrenByDateBetween(search.getFromDate(), search.getToDate(), AllergyEnum.НЯМА))
+                .thenReturn(List.of(order.getChild()));
+        when(mockModelMapper.map(order.getChild(), AllergicChildViewModel.class))
+                .thenReturn(new AllergicChildViewModel());
+
+        List<ReferenceViewModel> reference = mockOrderServiceToTest.getAdminReference(search);
+
+        Assertions.assertEquals(1, reference.size());
+        Assertions.assertEquals("Kitchen", reference.get(0).getPoint());
+        Assertions.assertEquals(0, reference.get(0).getCountSmallOrders());
+        Assertions.assertEquals(2, reference.get(0).getCountBigOrders());
+        Assertions.assertEquals(2, reference.get(0).getTotalCountOrders());
+        Assertions.assertEquals(2, reference.get(0).getCountAllergicOrders());
+        Assertions.assertEquals(1, reference.get(0).getAllAllergicChildren().size());
+    }
 
+    @Test
+    public void testGetAdminReferenceByAgeGroupsMustReturnBothGroups(){
+        AdminSearchBindingModel search = new AdminSearchBindingModel();
+        search.setFromDate(order.getDate());
+        search.setToDate(order.getDate());
+        search.setServicePoint("Kitchen");
+        search.setAgeGroup("All");
+
+        when(mockOrderRollupService.getReferenceCounts(search.getFromDate(), search.getToDate(), "Kitchen", "All"))
+                .thenReturn(List.of(new OrderReferenceCount("Kitchen", AgeGroupEnum.ГОЛЕМИ, 1L, 1L)));
+        when(mockOrderRepo.findAllergicChildrenByDateBetweenAndServicePoint(search.getFromDate(), search.getToDate(), "Kitchen", AllergyEnum.НЯМА))
+                .thenReturn(List.of(order.getChild()));
+        when(mockModelMapper.map(order.getChild(), AllergicChildViewModel.class))
+                .thenReturn(new AllergicChildViewModel());
+
+        List<ReferenceViewModel> reference = mockOrderServiceToTest.getAdminReference(search);
+
+        Assertions.assertEquals(2, reference.size());
+        Assertions.assertEquals("Small", reference.get(0).getAgeGroup());
+        Assertions.assertEquals(0, reference.get(0).getTotalCountOrders());
+        Assertions.assertEquals(0, reference.get(0).getAllAllergicChildren().size());
+        Assertions.assertEquals("Big", reference.get(1).getAgeGroup());
+        Assertions.assertEquals(1, reference.get(1).getCountBigOrders());
+        Assertions.assertEquals(1, reference.get(1).getCountAllergicOrders());
     }
 
+    @Test
+    public void testGetAdminReferenceMustBeCachedUntilOrderInRange(){
+        AdminSearchBindingModel search = new AdminSearchBindingModel();
+        search.setFromDate(order.getDate());
+        search.setToDate(order.getDate().plusDays(1));
+        search.setServicePoint("All");
+        search.setAgeGroup("All");
+
+        when(mockOrderRollupService.getReferenceCounts(search.getFromDate(), search.getToDate(), "All", "All"))
+                .thenReturn(List.of(new OrderReferenceCount("Kitchen", AgeGroupEnum.ГОЛЕМИ, 2L, 0L)));
+
+        mockOrderServiceToTest.getAdminReference(search);
+        mockOrderServiceToTest.getAdminReference(search);
+
+        //an order outside of the range keeps the entry
+        adminReferenceCache.onOrderChanged(new OrderPlacedEvent(this).setDate(order.getDate().plusDays(2))
+                                                                     .setServicePointName("Kitchen")
+                                                                     .setAgeGroup(AgeGroupEnum.ГОЛЕМИ));
+        mockOrderServiceToTest.getAdminReference(search);
+
+        adminReferenceCache.onOrderChanged(new OrderPlacedEvent(this).setDate(order.getDate())
+                                                                     .setServicePointName("Kitchen")
+                                                                     .setAgeGroup(AgeGroupEnum.ГОЛЕМИ));
+        mockOrderServiceToTest.getAdminReference(search);
+
+        verify(mockOrderRollupService, times(2)).getReferenceCounts(search.getFromDate(), search.getToDate(), "All", "All");
+        Assertions.assertEquals(2, adminReferenceCache.getStats().getHits());
+        Assertions.assertEquals(2, adminReferenceCache.getStats().getMisses());
+        Assertions.assertEquals(1, adminReferenceCache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testReferenceLoadedAcrossEvictionMustNotBeCached() {
+        AdminSearchBindingModel search = new AdminSearchBindingModel();
+        search.setFromDate(order.getDate());
+        search.setToDate(order.getDate());
+        search.setServicePoint("All");
+        search.setAgeGroup("All");
+
+        //an order commits while the reference is being loaded
+        adminReferenceCache.get(search, () -> {
+            adminReferenceCache.onOrderChanged(new OrderPlacedEvent(this).setDate(order.getDate())
+                                                                         .setServicePointName("Kitchen")
+                                                                         .setAgeGroup(AgeGroupEnum.ГОЛЕМИ));
+            return List.of();
+        });
+        adminReferenceCache.get(search, List::of);
+
+        Assertions.assertEquals(0, adminReferenceCache.getStats().getHits());
+        Assertions.assertEquals(2, adminReferenceCache.getStats().getMisses());
+        Assertions.assertEquals(1, adminReferenceCache.getStats().getSize());
+    }
+
+    @Test
+    public void testMakeOrderMustReportOnlyPrimaryOrderViolationAsDuplicate() {
+        when(mockUserService.getByEmail(NOT_ADMIN_MAIL)).thenReturn(Optional.of(testUser));
+        when(mockUserService.getChildByNames("TestChild", NOT_ADMIN_MAIL)).thenReturn(order.getChild());
+        when(mockPointService.getByName("Kitchen")).thenReturn(Optional.of(order.getServicePoint()));
+
+        when(mockOrderRepo.saveAndFlush(any())).thenThrow(violationOf("orders." + OrderEntity.PRIMARY_ORDER_CONSTRAINT.toUpperCase()));
+        Assertions.assertThrows(DuplicateOrderException.class,
+                () -> mockOrderServiceToTest.makeOrder(order.getDate(), "Kitchen", NOT_ADMIN_MAIL, "TestChild", NOT_ADMIN_MAIL));
+
+        doThrow(violationOf("fk_orders_coupon")).when(mockOrderRepo).saveAndFlush(any());
+        Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> mockOrderServiceToTest.makeOrder(order.getDate(), "Kitchen", NOT_ADMIN_MAIL, "TestChild", NOT_ADMIN_MAIL));
+    }
+
+    @Test
+    public void testMakeOrderForOrderedDayMustFailBeforeCouponAndCapacity() {
+        when(mockUserService.getByEmail(NOT_ADMIN_MAIL)).thenReturn(Optional.of(testUser));
+        when(mockUserService.getChildByNames("TestChild", NOT_ADMIN_MAIL)).thenReturn(order.getChild());
+        when(mockOrderRepo.existsByChildIdAndDate(any(), any())).thenReturn(true);
+
+        Assertions.assertThrows(DuplicateOrderException.class,
+                () -> mockOrderServiceToTest.makeOrder(order.getDate(), "Kitchen", NOT_ADMIN_MAIL, "TestChild", NOT_ADMIN_MAIL));
+
+        verifyNoInteractions(mockCouponService, mockPointCapacityService);
+    }
+
+    private static DataIntegrityViolationException violationOf(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
 }
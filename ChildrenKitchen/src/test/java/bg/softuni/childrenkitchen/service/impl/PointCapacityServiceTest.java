@@ -0,0 +1,118 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.exception.PointCapacityExceededException;
+import bg.softuni.childrenkitchen.model.entity.OrderDailyRollupEntity;
+import bg.softuni.childrenkitchen.model.entity.PointEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.event.OrderDeletedEvent;
+import bg.softuni.childrenkitchen.repository.OrderDailyRollupRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PointCapacityServiceTest {
+    private static final LocalDate DATE = LocalDate.now().plusDays(7);
+
+    @Mock
+    private OrderDailyRollupRepository mockRollupRepo;
+
+    private PointCapacityServiceImpl toTest;
+    private PointEntity testPoint;
+
+    @BeforeEach
+    void setup() {
+        toTest = new PointCapacityServiceImpl(mockRollupRepo);
+
+        testPoint = new PointEntity();
+        testPoint.setId(1L);
+        testPoint.setName("Kitchen");
+        testPoint.setDailyCapacity(50);
+    }
+
+    @Test
+    public void testReserveMustNeverExceedCapacityUnderConcurrentOrders() throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                try {
+                    toTest.reserve(testPoint, List.of(DATE));
+                    accepted.incrementAndGet();
+                } catch (PointCapacityExceededException ignored) {
+                }
+            });
+        }
+
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(50, accepted.get());
+        Assertions.assertEquals(50, toTest.getReserved(1L, DATE));
+    }
+
+    @Test
+    public void testReserveMustTakeNothingWhenOneDateIsFull() {
+        testPoint.setDailyCapacity(1);
+        toTest.reserve(testPoint, List.of(DATE));
+
+        Assertions.assertThrows(PointCapacityExceededException.class,
+                () -> toTest.reserve(testPoint, List.of(DATE.minusDays(1), DATE)));
+
+        Assertions.assertEquals(0, toTest.getReserved(1L, DATE.minusDays(1)));
+        Assertions.assertEquals(1, toTest.getReserved(1L, DATE));
+    }
+
+    @Test
+    public void testDeletedOrderAndReconcileMustReleasePortions() {
+        testPoint.setDailyCapacity(null);
+        toTest.reserve(testPoint, List.of(DATE, DATE));
+
+        toTest.onOrderDeleted((OrderDeletedEvent) new OrderDeletedEvent(this).setServicePointId(1L)
+                                                                             .setDate(DATE));
+        Assertions.assertEquals(1, toTest.getReserved(1L, DATE));
+
+        when(mockRollupRepo.findAllByDateFrom(any()))
+                .thenReturn(List.of(new OrderDailyRollupEntity().setServicePoint(testPoint)
+                                                                .setDate(DATE)
+                                                                .setAgeGroup(AgeGroupEnum.ГОЛЕМИ)
+                                                                .setTotal(7)));
+        toTest.reconcile();
+
+        Assertions.assertEquals(7, toTest.getReserved(1L, DATE));
+    }
+
+    @Test
+    public void testReconcileMustKeepPortionsOfOrdersInFlight() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            toTest.reserve(testPoint, List.of(DATE));
+
+            when(mockRollupRepo.findAllByDateFrom(any())).thenReturn(List.of());
+            toTest.reconcile();
+            Assertions.assertEquals(1, toTest.getReserved(1L, DATE));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                                             .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            Assertions.assertEquals(0, toTest.getReserved(1L, DATE));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
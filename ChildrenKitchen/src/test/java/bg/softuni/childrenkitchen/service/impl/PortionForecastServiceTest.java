@@ -0,0 +1,83 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.entity.PortionForecastEntity;
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.model.event.ForecastChangedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderDeletedEvent;
+import bg.softuni.childrenkitchen.model.event.OrderPlacedEvent;
+import bg.softuni.childrenkitchen.repository.OrderDailyRollupRepository;
+import bg.softuni.childrenkitchen.repository.PortionForecastRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class PortionForecastServiceTest {
+    private static final String POINT = "Kitchen";
+    private static final LocalDate LAST_MONDAY = LocalDate.now().minusWeeks(1).with(DayOfWeek.MONDAY);
+
+    @Mock
+    private PortionForecastRepository mockPortionForecastRepo;
+    @Mock
+    private OrderDailyRollupRepository mockRollupRepo;
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    private PortionForecastServiceImpl toTest;
+
+    @BeforeEach
+    void setup() {
+        toTest = new PortionForecastServiceImpl(mockPortionForecastRepo, mockRollupRepo, mockEventPublisher);
+    }
+
+    @Test
+    public void testFlushMustFoldPastDaysIntoWeightedForecast() {
+        order(LAST_MONDAY.minusWeeks(1), 10);
+        order(LAST_MONDAY, 20);
+        toTest.onOrderDeleted((OrderDeletedEvent) new OrderDeletedEvent(this).setDate(LAST_MONDAY)
+                                                                             .setServicePointName(POINT)
+                                                                             .setAgeGroup(AgeGroupEnum.ГОЛЕМИ));
+
+        Assertions.assertEquals(1, toTest.flush());
+
+        //10 first, then 0.3 * 19 + 0.7 * 10
+        Assertions.assertEquals(13L, toTest.getPredictedPortions(LAST_MONDAY.plusWeeks(2)).get(POINT));
+        Assertions.assertTrue(toTest.getPredictedPortions(LAST_MONDAY.plusDays(1)).isEmpty());
+
+        ArgumentCaptor<List<PortionForecastEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(mockPortionForecastRepo).saveAll(saved.capture());
+        Assertions.assertEquals(2, saved.getValue().get(0).getSamples());
+        Assertions.assertEquals(LAST_MONDAY, saved.getValue().get(0).getLastDate());
+        verify(mockEventPublisher).publishEvent(any(ForecastChangedEvent.class));
+    }
+
+    @Test
+    public void testFlushMustKeepFutureDaysOpen() {
+        order(LocalDate.now().plusDays(7), 5);
+
+        Assertions.assertEquals(0, toTest.flush());
+        Assertions.assertTrue(toTest.getPredictedPortions(LocalDate.now().plusDays(7)).isEmpty());
+        verifyNoInteractions(mockRollupRepo, mockEventPublisher);
+    }
+
+    private void order(LocalDate date, int portions) {
+        for (int i = 0; i < portions; i++) {
+            toTest.onOrderPlaced((OrderPlacedEvent) new OrderPlacedEvent(this).setDate(date)
+                                                                              .setServicePointName(POINT)
+                                                                              .setAgeGroup(AgeGroupEnum.ГОЛЕМИ));
+        }
+    }
+}
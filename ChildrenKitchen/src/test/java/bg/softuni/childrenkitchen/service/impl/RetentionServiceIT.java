@@ -0,0 +1,141 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.config.ArchiveConfiguration;
+import bg.softuni.childrenkitchen.model.view.ArchivedOrder;
+import bg.softuni.childrenkitchen.model.view.RetentionChunkReport;
+import bg.softuni.childrenkitchen.service.interfaces.ArchiveService;
+import bg.softuni.childrenkitchen.service.interfaces.OrderCalendarService;
+import bg.softuni.childrenkitchen.service.interfaces.RetentionService;
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RetentionServiceIT {
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private ArchiveConfiguration archiveConfiguration;
+
+    @Autowired
+    private OrderCalendarService orderCalendarService;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.initAllergens();
+        testDataUtil.initFood();
+        testDataUtil.initMenus();
+    }
+
+    @AfterEach
+    void cleanDB() throws IOException {
+        testDataUtil.cleanUpDateBase();
+        FileSystemUtils.deleteRecursively(Path.of(archiveConfiguration.getPath()));
+    }
+
+    @Test
+    void testPurgeMustDeleteOldCouponsInChunks() {
+        testDataUtil.buyCouponsByUser(1499);
+        testDataUtil.verifyFreeCoupons(LocalDate.now().minusDays(10));
+
+        List<RetentionChunkReport> reports = retentionService.purgeBefore(LocalDate.now());
+
+        List<RetentionChunkReport> couponChunks = reports.stream()
+                                                         .filter(r -> r.getTableName().equals("coupons"))
+                                                         .toList();
+
+        Assertions.assertEquals(2, couponChunks.size());
+        Assertions.assertEquals(1000, couponChunks.get(0).getRemovedRows());
+        Assertions.assertEquals(500, couponChunks.get(1).getRemovedRows());
+
+        //the coupon of the future order stays
+        Assertions.assertEquals(1, testDataUtil.countCoupons());
+        Assertions.assertEquals(1, testDataUtil.countOrders());
+        Assertions.assertEquals(1, testDataUtil.countRollupRows());
+    }
+
+    @Test
+    void testPurgeMustDeleteOrdersBeforeTheirCoupons() {
+        List<RetentionChunkReport> reports = retentionService.purgeBefore(LocalDate.now().plusYears(1));
+
+        Assertions.assertEquals("orders", reports.get(0).getTableName());
+        Assertions.assertEquals(0, testDataUtil.countOrders());
+        Assertions.assertEquals(0, testDataUtil.countRollupRows());
+        Assertions.assertEquals(1, testDataUtil.countCoupons());
+        Assertions.assertEquals(0, testDataUtil.countMenus());
+        //one order, its rollup row, its coupon and one menu
+        Assertions.assertEquals(4, reports.stream()
+                                          .mapToInt(RetentionChunkReport::getRemovedRows)
+                                          .sum());
+    }
+
+    @Test
+    void testPurgedOrdersAndCouponsMustBeReadableFromTheirYearArchive() {
+        LocalDate orderDate = LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5);
+        Long childId = testDataUtil.getEntityByEmail("user@test.bg")
+                                   .getChildren()
+                                   .stream()
+                                   .findFirst()
+                                   .orElseThrow()
+                                   .getId();
+
+        retentionService.purgeBefore(LocalDate.now().plusYears(1));
+
+        List<ArchivedOrder> archivedOrders = archiveService.getArchivedOrders(childId, orderDate.getYear());
+
+        Assertions.assertEquals(1, archivedOrders.size());
+        Assertions.assertEquals(orderDate, archivedOrders.get(0).getDate());
+        Assertions.assertEquals("9-ти квартал", archivedOrders.get(0).getServicePointName());
+        Assertions.assertEquals(1, archiveService.getArchivedCoupons(childId, orderDate.getYear()).size());
+        Assertions.assertTrue(archiveService.getArchivedOrders(childId, orderDate.getYear() - 1).isEmpty());
+        Assertions.assertTrue(Files.exists(Path.of(archiveConfiguration.getPath(), "orders-" + YearMonth.from(orderDate) + ".bin.gz")));
+    }
+
+    @Test
+    void testPurgeMustEvictCachedCalendarsOfPurgedOrders() {
+        LocalDate orderDate = LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5);
+        Long childId = testDataUtil.getEntityByEmail("user@test.bg")
+                                   .getChildren()
+                                   .stream()
+                                   .findFirst()
+                                   .orElseThrow()
+                                   .getId();
+
+        Assertions.assertEquals(1 << (orderDate.getDayOfMonth() - 1),
+                                orderCalendarService.getOrderCalendar(childId, YearMonth.from(orderDate)).getOrderedDays());
+
+        retentionService.purgeBefore(LocalDate.now().plusYears(1));
+
+        Assertions.assertEquals(0, orderCalendarService.getOrderCalendar(childId, YearMonth.from(orderDate)).getOrderedDays());
+    }
+}
@@ -0,0 +1,63 @@
+package bg.softuni.childrenkitchen.service.impl;
+
+import bg.softuni.childrenkitchen.model.entity.HolidayEntity;
+import bg.softuni.childrenkitchen.model.view.HolidayViewModel;
+import bg.softuni.childrenkitchen.repository.HolidayRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WorkingDayServiceTest {
+    //far enough ahead that no holiday was ever stored for it
+    private static final int YEAR = LocalDate.now().getYear() + 5;
+
+    @Mock
+    private HolidayRepository mockHolidayRepo;
+    @Mock
+    private ApplicationEventPublisher mockPublisher;
+
+    private WorkingDayServiceImpl toTest;
+
+    @BeforeEach
+    void setup() {
+        toTest = new WorkingDayServiceImpl(mockHolidayRepo, mockPublisher);
+    }
+
+    @Test
+    public void testFixedHolidaysMustApplyToEveryYear() {
+        when(mockHolidayRepo.findAllByDateBetweenOrderByDate(any(), any())).thenReturn(List.of());
+
+        LocalDate newYear = LocalDate.of(YEAR, 1, 1);
+        LocalDate cyrilAndMethodius = LocalDate.of(YEAR, 5, 24);
+
+        Assertions.assertTrue(toTest.isHoliday(newYear));
+        Assertions.assertFalse(toTest.isWorkingDay(newYear));
+        Assertions.assertTrue(toTest.isHoliday(cyrilAndMethodius));
+        Assertions.assertFalse(toTest.isWorkingDay(cyrilAndMethodius));
+        Assertions.assertFalse(toTest.isHoliday(LocalDate.of(YEAR, 5, 23)));
+    }
+
+    @Test
+    public void testHolidaysMustListFixedAndStoredDays() {
+        LocalDate easter = LocalDate.of(YEAR, 4, 14);
+        when(mockHolidayRepo.findAllByDateBetweenOrderByDate(any(), any()))
+                .thenReturn(List.of(new HolidayEntity().setDate(easter).setName("Великден")));
+
+        List<HolidayViewModel> holidays = toTest.getHolidays(YEAR);
+
+        Assertions.assertEquals(11, holidays.size());
+        Assertions.assertEquals(LocalDate.of(YEAR, 1, 1), holidays.get(0).getDate());
+        Assertions.assertTrue(holidays.stream().anyMatch(h -> h.getDate().equals(easter) && h.getName().equals("Великден")));
+    }
+}
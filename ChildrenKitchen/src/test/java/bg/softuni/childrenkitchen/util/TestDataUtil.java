@@ -4,6 +4,8 @@ import bg.softuni.childrenkitchen.exception.ObjectNotFoundException;
 import bg.softuni.childrenkitchen.model.entity.*;
 import bg.softuni.childrenkitchen.model.entity.enums.*;
 import bg.softuni.childrenkitchen.repository.*;
+import bg.softuni.childrenkitchen.service.interfaces.OrderRollupService;
+import bg.softuni.childrenkitchen.service.menu.WeeklyMenuCache;
 import jakarta.transaction.Transactional;
 import org.hibernate.annotations.Cascade;
 import org.hibernate.annotations.CascadeType;
@@ -30,8 +32,11 @@ public class TestDataUtil {
     private final AllergenRepository allergenRepository;
     private final FoodRepository foodRepository;
     private final MenusRepository menusRepository;
+    private final OrderDailyRollupRepository orderDailyRollupRepository;
+    private final OrderRollupService orderRollupService;
+    private final WeeklyMenuCache weeklyMenuCache;
 
-    public TestDataUtil(UserRepository userRepository, RoleRepository roleRepository, PointRepository pointRepository, ChildRepository childRepository, AllergyRepository allergyRepository, OrderRepository orderRepository, CouponRepository couponRepository, AllergenRepository allergenRepository, FoodRepository foodRepository, MenusRepository menusRepository) {
+    public TestDataUtil(UserRepository userRepository, RoleRepository roleRepository, PointRepository pointRepository, ChildRepository childRepository, AllergyRepository allergyRepository, OrderRepository orderRepository, CouponRepository couponRepository, AllergenRepository allergenRepository, FoodRepository foodRepository, MenusRepository menusRepository, OrderDailyRollupRepository orderDailyRollupRepository, OrderRollupService orderRollupService, WeeklyMenuCache weeklyMenuCache) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.pointRepository = pointRepository;
@@ -42,6 +47,9 @@ public class TestDataUtil {
         this.allergenRepository = allergenRepository;
         this.foodRepository = foodRepository;
         this.menusRepository = menusRepository;
+        this.orderDailyRollupRepository = orderDailyRollupRepository;
+        this.orderRollupService = orderRollupService;
+        this.weeklyMenuCache = weeklyMenuCache;
     }
 
     public void initAllergy(){
@@ -188,12 +196,14 @@ public class TestDataUtil {
         userOrder.setServicePoint(pointRepository.findByName("9-ти квартал").orElseThrow(ObjectNotFoundException::new));
         userOrder.setUser(userRepository.findByEmail(NOT_ADMIN_MAIL).orElseThrow());
         userOrder.setId(2L);
+        userOrder.setPrimaryOrder(true);
 
         CouponEntity coupon = userOrder.getCoupon();
         coupon.setVerifiedDate(userOrder.getDate());
         couponRepository.save(coupon);
 
         orderRepository.save(userOrder);
+        orderRollupService.rebuild();
     }
 
     public void initAllergens(){
@@ -258,12 +268,27 @@ public class TestDataUtil {
         menu.setDessert(foodRepository.findByName("Sladko").orElseThrow());
 
         menusRepository.save(menu);
+        weeklyMenuCache.evictAll();
+    }
+
+    public void initMenuForDate(LocalDate date){
+        DailyManuEntity menu = new DailyManuEntity();
+        menu.setDate(date);
+        menu.setAgeGroup(AgeGroupEnum.ГОЛЕМИ);
+
+        menu.setSoup(foodRepository.findByName("Supichka").orElseThrow());
+        menu.setMain(foodRepository.findByName("Prase").orElseThrow());
+        menu.setDessert(foodRepository.findByName("Sladko").orElseThrow());
+
+        menusRepository.save(menu);
+        weeklyMenuCache.evictAll();
     }
 
 
     @Cascade(value = CascadeType.ALL)
     @Transactional
     public void cleanUpDateBase() {
+        orderDailyRollupRepository.deleteAll();
         orderRepository.deleteAll();
         allergyRepository.deleteAll();
         couponRepository.deleteAll();
@@ -274,6 +299,7 @@ public class TestDataUtil {
         allergenRepository.deleteAll();
         foodRepository.deleteAll();
         menusRepository.deleteAll();
+        weeklyMenuCache.evictAll();
     }
 
     public List<String> getAllEmailInDB(){
@@ -304,6 +330,69 @@ public class TestDataUtil {
         childRepository.save(childEntity);
     }
 
+    public void buyCouponsByUser(int count){
+        ChildEntity childEntity = userRepository.findByEmail(NOT_ADMIN_MAIL).get()
+                                                .getChildren()
+                                                .stream()
+                                                .findFirst()
+                                                .get();
+
+        List<CouponEntity> coupons = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            CouponEntity coupon = new CouponEntity();
+            coupon.setOwner(childEntity);
+            coupon.setPrice(BigDecimal.valueOf(0.8));
+            coupon.setAgeGroup(AgeGroupEnum.ГОЛЕМИ);
+            coupons.add(coupon);
+        }
+
+        couponRepository.saveAll(coupons);
+    }
+
+    public long countVerifiedCoupons(){
+        return couponRepository.findAll()
+                               .stream()
+                               .filter(c -> c.getVerifiedDate() != null)
+                               .count();
+    }
+
+    public void verifyFreeCoupons(LocalDate verifiedDate){
+        List<CouponEntity> freeCoupons = couponRepository.findAll()
+                                                         .stream()
+                                                         .filter(c -> c.getVerifiedDate() == null)
+                                                         .toList();
+
+        freeCoupons.forEach(c -> c.setVerifiedDate(verifiedDate));
+
+        couponRepository.saveAll(freeCoupons);
+    }
+
+    public Long getChildIdByName(String childName){
+        return childRepository.findAll()
+                              .stream()
+                              .filter(c -> c.getFullName().equals(childName))
+                              .findFirst()
+                              .orElseThrow()
+                              .getId();
+    }
+
+    public long countOrders(){
+        return orderRepository.count();
+    }
+
+    public long countCoupons(){
+        return couponRepository.count();
+    }
+
+    public long countMenus(){
+        return menusRepository.count();
+    }
+
+    public long countRollupRows(){
+        return orderDailyRollupRepository.count();
+    }
+
     public void populateOrdersToTestAdminStatistic(){
         UserEntity user2 = new UserEntity();
         user2.setRoles(Set.of(roleRepository.findByRole(UserRoleEnum.USER).orElseThrow()));
@@ -361,6 +450,7 @@ public class TestDataUtil {
         adminOrder.setChild(adminOrder.getUser().getChildren().stream().findFirst().get());
 
         orderRepository.save(adminOrder);
+        orderRollupService.rebuild();
     }
 
     public void populateMoreAllergicChildToTestAdminStatistic(){
@@ -390,6 +480,7 @@ public class TestDataUtil {
         order.setChild(child);
 
         orderRepository.save(order);
+        orderRollupService.rebuild();
     }
 
     public void populateOneMoreChild(){
@@ -0,0 +1,120 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AdminExportControllerIT {
+    private static final String ADMIN_MAIL = "admin@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.initAllergens();
+        testDataUtil.initFood();
+        testDataUtil.initMenus();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        testDataUtil.cleanUpDateBase();
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testExportCsvMustStreamAllOrders() throws Exception {
+        testDataUtil.populateOrdersToTestAdminStatistic();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/export/orders.csv")
+                                              .param("fromDate", LocalDate.now().toString())
+                                              .param("toDate", LocalDate.now().plusDays(30).toString())
+                                              .param("servicePoint", "All")
+                                              .param("ageGroup", "All"))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(MockMvcResultMatchers.header().string("Content-Disposition", containsString(".csv")))
+               .andExpect(MockMvcResultMatchers.content().string(containsString("TestChild2")))
+               .andExpect(MockMvcResultMatchers.content().string(containsString("Pesho")))
+               .andExpect(MockMvcResultMatchers.content().string(containsString("TestChild,")));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testExportCsvMustFilterByPoint() throws Exception {
+        testDataUtil.populateOrdersToTestAdminStatistic();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/export/orders.csv")
+                                              .param("fromDate", LocalDate.now().toString())
+                                              .param("toDate", LocalDate.now().plusDays(30).toString())
+                                              .param("servicePoint", "ДЯ Мир")
+                                              .param("ageGroup", "All"))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(MockMvcResultMatchers.content().string(containsString("Pesho")))
+               .andExpect(MockMvcResultMatchers.content().string(not(containsString("TestChild2"))));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testExportXlsxMustReturnWorkbook() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/export/orders.xlsx")
+                                              .param("fromDate", LocalDate.now().toString())
+                                              .param("toDate", LocalDate.now().plusDays(30).toString())
+                                              .param("servicePoint", "All")
+                                              .param("ageGroup", "All"))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(MockMvcResultMatchers.content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testExportWithWrongDatesMustReturnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/export/orders.csv")
+                                              .param("fromDate", LocalDate.now().toString())
+                                              .param("toDate", LocalDate.now().minusDays(30).toString())
+                                              .param("servicePoint", "All")
+                                              .param("ageGroup", "All"))
+               .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void testExportWithoutLoggedInUserMustRedirectToLogin() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/export/orders.csv")
+                                              .param("fromDate", LocalDate.now().toString())
+                                              .param("toDate", LocalDate.now().plusDays(30).toString())
+                                              .param("servicePoint", "All")
+                                              .param("ageGroup", "All"))
+               .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
+    }
+}
@@ -1,6 +1,7 @@
 package bg.softuni.childrenkitchen.web;
 
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.service.reference.AdminReferenceCache;
 import bg.softuni.childrenkitchen.util.TestDataUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -14,11 +15,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.support.SessionFlashMapManager;
 
 import java.time.LocalDate;
 
-import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 @SpringBootTest
@@ -34,6 +36,9 @@ public class AdminReferenceControllerIT {
     @Autowired
     private TestDataUtil testDataUtil;
 
+    @Autowired
+    private AdminReferenceCache adminReferenceCache;
+
     @BeforeEach
     public void setup() {
         testDataUtil.initRoles();
@@ -66,162 +71,179 @@ public class AdminReferenceControllerIT {
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnBindingResult() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+    void testGetAdminPageReturnBindingResult() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                        .param("fromDate", LocalDate.now().toString())
                        .param("toDate", LocalDate.now().plusDays(30).toString())
                        .param("servicePoint", "" )
                        .param("ageGroup", "")
-                       .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("org.springframework.validation.BindingResult.adminSearchBindingModel"))
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(model().attributeHasErrors("adminSearchBindingModel"))
+               .andExpect(view().name("admin"))
         ;
     }
 
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnErrorIfDatesIsNotValid() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+    void testGetAdminPageReturnErrorIfDatesIsNotValid() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                                               .param("fromDate", LocalDate.now().toString())
                                               .param("toDate", LocalDate.now().minusDays(30).toString())
                                               .param("servicePoint", "something" )
                                               .param("ageGroup", "small")
-                                              .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("errorMsg"))
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(model().attributeExists("errorMsg"))
+               .andExpect(view().name("admin"))
         ;
     }
 
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnErrorIfDatesIsNull() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+    void testGetAdminPageReturnErrorIfDatesIsNull() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                                               .param("servicePoint", "something" )
                                               .param("ageGroup", "small")
-                                              .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("errorMsg"))
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(model().attributeExists("errorMsg"))
+               .andExpect(view().name("admin"))
         ;
     }
 
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnValidResultForAllPointsAndGroups() throws Exception {
+    void testGetAdminPageReturnValidResultForAllPointsAndGroups() throws Exception {
 
         testDataUtil.populateOrdersToTestAdminStatistic();
 
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                                               .param("fromDate", LocalDate.now().toString())
                                               .param("toDate", LocalDate.now().plusDays(30).toString())
                                               .param("servicePoint", "All" )
                                               .param("ageGroup", "All")
-                                              .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("referenceAllPointsViewModelList"))
-               .andExpect(MockMvcResultMatchers.flash().attribute("smallSum", 1))
-               .andExpect(MockMvcResultMatchers.flash().attribute("bigSum", 2))
-               .andExpect(MockMvcResultMatchers.flash().attribute("allergicSum", 1))
+               .andExpect(model().attributeExists("referenceAllPointsViewModelList"))
+               .andExpect(model().attribute("smallSum", 1))
+               .andExpect(model().attribute("bigSum", 2))
+               .andExpect(model().attribute("allergicSum", 1))
+               .andExpect(request().sessionAttributeDoesNotExist(SessionFlashMapManager.class.getName() + ".FLASH_MAPS"))
 
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(view().name("admin"))
         ;
     }
 
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnValidResultForOnePointAndAllGroups() throws Exception {
+    void testRepeatedReferenceMustBeServedFromCache() throws Exception {
+        testDataUtil.populateOrdersToTestAdminStatistic();
+        long hits = adminReferenceCache.getStats().getHits();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/admin")
+                                                  .param("fromDate", LocalDate.now().toString())
+                                                  .param("toDate", LocalDate.now().plusDays(30).toString())
+                                                  .param("servicePoint", "All" )
+                                                  .param("ageGroup", "All")
+                   )
+                   .andExpect(model().attribute("bigSum", 2));
+        }
+
+        Assertions.assertEquals(hits + 1, adminReferenceCache.getStats().getHits());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/reference-cache/stats"))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(MockMvcResultMatchers.jsonPath("$.hits").value(hits + 1));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetAdminPageReturnValidResultForOnePointAndAllGroups() throws Exception {
 
         testDataUtil.populateOrdersToTestAdminStatistic();
 
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                                               .param("fromDate", LocalDate.now().toString())
                                               .param("toDate", LocalDate.now().plusDays(30).toString())
                                               .param("servicePoint", "ДЯ Мир" )
                                               .param("ageGroup", "All")
-                                              .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("referenceByPointsViewModelList"))
-               .andExpect(MockMvcResultMatchers.flash().attribute("totalCountOrders", 1))
-               .andExpect(MockMvcResultMatchers.flash().attribute("totalCountAllOrders", 1))
-               .andExpect(MockMvcResultMatchers.flash().attributeExists  ("allergicChildren"))
+               .andExpect(model().attributeExists("referenceByPointsViewModelList"))
+               .andExpect(model().attribute("totalCountOrders", 1))
+               .andExpect(model().attribute("totalCountAllOrders", 1))
+               .andExpect(model().attributeExists("allergicChildren"))
 
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(view().name("admin"))
         ;
     }
 
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnValidResultForOnePointAndOneGroups() throws Exception {
+    void testGetAdminPageReturnValidResultForOnePointAndOneGroups() throws Exception {
 
         testDataUtil.populateOrdersToTestAdminStatistic();
 
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                                               .param("fromDate", LocalDate.now().toString())
                                               .param("toDate", LocalDate.now().plusDays(30).toString())
                                               .param("servicePoint", "ДЯ Мир" )
                                               .param("ageGroup", AgeGroupEnum.МАЛКИ.name())
-                                              .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("referenceByPointsViewModelList"))
-               .andExpect(MockMvcResultMatchers.flash().attribute("totalCountOrders", 1))
-               .andExpect(MockMvcResultMatchers.flash().attribute("totalCountAllOrders", 1))
-               .andExpect(MockMvcResultMatchers.flash().attributeExists  ("allergicChildren"))
+               .andExpect(model().attributeExists("referenceByPointsViewModelList"))
+               .andExpect(model().attribute("totalCountOrders", 1))
+               .andExpect(model().attribute("totalCountAllOrders", 1))
+               .andExpect(model().attributeExists("allergicChildren"))
 
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(view().name("admin"))
         ;
     }
 
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnValidResultForAllPointAndOneGroups() throws Exception {
+    void testGetAdminPageReturnValidResultForAllPointAndOneGroups() throws Exception {
 
         testDataUtil.populateOrdersToTestAdminStatistic();
 
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                                               .param("fromDate", LocalDate.now().toString())
                                               .param("toDate", LocalDate.now().plusDays(30).toString())
                                               .param("servicePoint", "All" )
                                               .param("ageGroup", AgeGroupEnum.ГОЛЕМИ.name())
-                                              .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("referenceAllPointsViewModelList"))
-               .andExpect(MockMvcResultMatchers.flash().attribute("smallSum", 0))
-               .andExpect(MockMvcResultMatchers.flash().attribute("bigSum", 2))
-               .andExpect(MockMvcResultMatchers.flash().attribute ("allergicSum", 0))
+               .andExpect(model().attributeExists("referenceAllPointsViewModelList"))
+               .andExpect(model().attribute("smallSum", 0))
+               .andExpect(model().attribute("bigSum", 2))
+               .andExpect(model().attribute("allergicSum", 0))
 
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(view().name("admin"))
         ;
     }
 
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
-    void testPostAdminPageReturnValidResultForAllPointAndAllGroupsWithMoreAllergicChildren() throws Exception {
+    void testGetAdminPageReturnValidResultForAllPointAndAllGroupsWithMoreAllergicChildren() throws Exception {
 
         testDataUtil.populateOrdersToTestAdminStatistic();
         testDataUtil.populateMoreAllergicChildToTestAdminStatistic();
 
-        mockMvc.perform(MockMvcRequestBuilders.post("/admin")
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin")
                                               .param("fromDate", LocalDate.now().toString())
                                               .param("toDate", LocalDate.now().plusDays(30).toString())
                                               .param("servicePoint", "All" )
                                               .param("ageGroup", "All")
-                                              .with(csrf())
                )
-               .andExpect(MockMvcResultMatchers.flash().attributeExists("referenceAllPointsViewModelList"))
-               .andExpect(MockMvcResultMatchers.flash().attribute("smallSum", 1))
-               .andExpect(MockMvcResultMatchers.flash().attribute("bigSum", 3))
-               .andExpect(MockMvcResultMatchers.flash().attribute ("allergicSum", 2))
+               .andExpect(model().attributeExists("referenceAllPointsViewModelList"))
+               .andExpect(model().attribute("smallSum", 1))
+               .andExpect(model().attribute("bigSum", 3))
+               .andExpect(model().attribute("allergicSum", 2))
 
-               .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+               .andExpect(view().name("admin"))
         ;
     }
 }
@@ -1,6 +1,7 @@
 package bg.softuni.childrenkitchen.web;
 
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.service.interfaces.PointService;
 import bg.softuni.childrenkitchen.util.TestDataUtil;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,6 +19,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 
 import static org.hamcrest.Matchers.contains;
@@ -37,6 +40,9 @@ public class CommonRestControllerIT {
 
     @Autowired
     private TestDataUtil testDataUtil;
+
+    @Autowired
+    private PointService pointService;
     @BeforeEach
     public void setup() {
         testDataUtil.initRoles();
@@ -64,6 +70,28 @@ public class CommonRestControllerIT {
         ;
     }
 
+    @Test
+    void testGetAllPointsMustReturnNotModifiedUntilPointsChange() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/points"))
+                             .andExpect(MockMvcResultMatchers.status().isOk())
+                             .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, Matchers.startsWith("public")))
+                             .andReturn()
+                             .getResponse()
+                             .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/points")
+                       .header(HttpHeaders.IF_NONE_MATCH, eTag))
+               .andExpect(MockMvcResultMatchers.status().isNotModified())
+               .andExpect(MockMvcResultMatchers.content().string(""));
+
+        pointService.setDailyCapacity(pointService.getAllNames().iterator().next(), 100);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/points")
+                       .header(HttpHeaders.IF_NONE_MATCH, eTag))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(jsonPath("$.length()", is(3)));
+    }
+
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
@@ -119,6 +147,57 @@ public class CommonRestControllerIT {
                .andExpect(jsonPath("$.length()", is(0)));
     }
 
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetOrdersOfChildByIdMustReturnOneOrder() throws Exception {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        String expected = formatter.format(LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/add-delete-order/children/{childId}/orders",
+                                                      testDataUtil.getChildIdByName("TestChild2")))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(jsonPath("$.length()", is(1)))
+               .andExpect(jsonPath("$[0]", is(expected)));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetOrderCalendarOfChildMustMarkOrderedDay() throws Exception {
+        LocalDate ordered = LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/add-delete-order/children/{childId}/calendar",
+                                                      testDataUtil.getChildIdByName("TestChild2"))
+                                              .param("month", YearMonth.from(ordered).toString()))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(jsonPath("$.orderedDays", is(1 << (ordered.getDayOfMonth() - 1))));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testSearchUserMustReturnChildrenByIds() throws Exception {
+        Long childId = testDataUtil.getChildIdByName("TestChild2");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/add-delete-order/search")
+                                              .param("addApplicantName", "user"))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(jsonPath("$[0].childrenByIds." + childId, is("TestChild2")));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testRebuildOrdersRollupMustReturnCountOfRows() throws Exception {
+        testDataUtil.populateOrdersToTestAdminStatistic();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/admin/orders-rollup/rebuild")
+                                              .with(csrf()))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(jsonPath("$", is(3)));
+    }
+
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
@@ -0,0 +1,147 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.service.interfaces.WorkingDayService;
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class HolidayRestControllerIT {
+    private static final String ADMIN_MAIL = "admin@test.com";
+    private static final String NOT_ADMIN_MAIL = "user@test.bg";
+
+    private static final LocalDate HOLIDAY = LocalDate.now().with(DayOfWeek.MONDAY).plusWeeks(2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @Autowired
+    private WorkingDayService workingDayService;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.initAllergens();
+        testDataUtil.initFood();
+        testDataUtil.initMenus();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        if (workingDayService.isHoliday(HOLIDAY)) {
+            workingDayService.deleteHoliday(HOLIDAY);
+        }
+        testDataUtil.cleanUpDateBase();
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testAddedHolidayMustBeListedAndNotWorking() throws Exception {
+        addHoliday();
+
+        mockMvc.perform(get("/api/admin/holidays")
+                       .param("year", String.valueOf(HOLIDAY.getYear())))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[?(@.date == '" + HOLIDAY + "')].name").value("Великден"));
+
+        Assertions.assertFalse(workingDayService.isWorkingDay(HOLIDAY));
+
+        mockMvc.perform(delete("/api/admin/holidays/" + HOLIDAY)
+                       .with(csrf()))
+               .andExpect(status().isNoContent());
+
+        Assertions.assertTrue(workingDayService.isWorkingDay(HOLIDAY));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testAddHolidayWithoutNameMustReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/admin/holidays")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"date\":\"" + HOLIDAY + "\",\"name\":\"\"}")
+                       .with(csrf()))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testDeleteMissingHolidayMustReturnNotFound() throws Exception {
+        mockMvc.perform(delete("/api/admin/holidays/" + HOLIDAY.plusDays(1))
+                       .with(csrf()))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testMakeOrdersForHolidayMustReturnBadRequest() throws Exception {
+        testDataUtil.buyCouponsByUser();
+        addHoliday();
+
+        mockMvc.perform(post("/api/e-kitchen/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"childName\":\"TestChild2\",\"dates\":[\"" + HOLIDAY + "\"]}")
+                       .with(csrf()))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testAdminAddOrdersForHolidayMustReturnBadRequest() throws Exception {
+        testDataUtil.buyCouponsByUser();
+        addHoliday();
+
+        mockMvc.perform(post("/api/admin/add-delete-order/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"userEmail\":\"" + NOT_ADMIN_MAIL + "\"," +
+                               "\"childFullName\":\"TestChild2\"," +
+                               "\"servicePoint\":\"9-ти квартал\"," +
+                               "\"dates\":[\"" + HOLIDAY + "\"]}")
+                       .with(csrf()))
+               .andExpect(status().isBadRequest());
+    }
+
+    private void addHoliday() throws Exception {
+        mockMvc.perform(post("/api/admin/holidays")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"date\":\"" + HOLIDAY + "\",\"name\":\"Великден\"}")
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.name", is("Великден")));
+    }
+}
@@ -3,11 +3,13 @@ package bg.softuni.childrenkitchen.web;
 import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
 import bg.softuni.childrenkitchen.util.TestDataUtil;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,6 +18,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -59,6 +62,21 @@ public class MenuControllerIT {
                 .andExpect(model().attributeExists("bigWeeklyMenu"));
     }
 
+    @Test
+    void testGetMenuMustReturnNotModifiedWithoutRendering() throws Exception {
+        String eTag = mockMvc.perform(get("/menus"))
+                             .andExpect(status().isOk())
+                             .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                             .andReturn()
+                             .getResponse()
+                             .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/menus")
+                       .header(HttpHeaders.IF_NONE_MATCH, eTag))
+               .andExpect(status().isNotModified())
+               .andExpect(result -> Assertions.assertNull(result.getModelAndView()));
+    }
+
     @Test
     void testGetMenuMustReturnErrorView() throws Exception {
         testDataUtil.cleanUpDateBase();
@@ -178,6 +196,27 @@ public class MenuControllerIT {
                .andExpect(status().is3xxRedirection());
     }
 
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testEditMenuMustWriteThroughToWeeklyMenu() throws Exception {
+        mockMvc.perform(get("/menus"))
+               .andExpect(model().attribute("bigWeeklyMenu", hasItem(hasProperty("soup", hasProperty("name", is("Supichka"))))));
+
+        mockMvc.perform(patch("/admin/add-menu")
+                       .param("date", LocalDate.now().with(DayOfWeek.MONDAY).plusDays(2).toString())
+                       .param("ageGroup", AgeGroupEnum.ГОЛЕМИ.name())
+                       .param("soup", "SOUP")
+                       .param("main", "MAIN")
+                       .param("dessert", "SWEET")
+                       .with(csrf())
+               )
+               .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/menus"))
+               .andExpect(model().attribute("bigWeeklyMenu", hasItem(hasProperty("soup", hasProperty("name", is("SOUP"))))));
+    }
+
     @Test
     @WithUserDetails(value = ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")
@@ -0,0 +1,155 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.model.entity.enums.AgeGroupEnum;
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MenuRestControllerIT {
+    private static final String ADMIN_MAIL = "admin@test.com";
+
+    private static final LocalDate EXISTING = LocalDate.now().with(DayOfWeek.MONDAY).plusDays(2);
+    private static final LocalDate MONDAY = LocalDate.now().with(DayOfWeek.MONDAY).plusWeeks(3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.initAllergens();
+        testDataUtil.initFood();
+        testDataUtil.initMenus();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        testDataUtil.cleanUpDateBase();
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetMenusMustReturnEveryWorkingDayOfRange() throws Exception {
+        LocalDate monday = EXISTING.minusDays(2);
+
+        mockMvc.perform(get("/api/menus")
+                       .param("from", monday.toString())
+                       .param("to", monday.plusDays(20).toString())
+                       .param("ageGroup", AgeGroupEnum.ГОЛЕМИ.name()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()", is(15)))
+               .andExpect(jsonPath("$[2].soup.name", is("Supichka")))
+               .andExpect(jsonPath("$[3].soup.name", startsWith("Няма")));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetMenusMustRejectInvalidRange() throws Exception {
+        mockMvc.perform(get("/api/menus")
+                       .param("from", MONDAY.toString())
+                       .param("to", MONDAY.minusDays(1).toString())
+                       .param("ageGroup", AgeGroupEnum.ГОЛЕМИ.name()))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testImportMenusMustSaveAllRows() throws Exception {
+        mockMvc.perform(post("/api/admin/menus/import")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("[" + menuJson(MONDAY, AgeGroupEnum.ГОЛЕМИ, "SOUP") + "," + menuJson(MONDAY, AgeGroupEnum.МАЛКИ, "Supichka") + "]")
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.imported", is(2)))
+               .andExpect(jsonPath("$.errors", empty()));
+
+        Assertions.assertEquals(3, testDataUtil.countMenus());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testImportMenusMustReportEveryErrorAndSaveNothing() throws Exception {
+        mockMvc.perform(post("/api/admin/menus/import")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("[" + menuJson(MONDAY, AgeGroupEnum.ГОЛЕМИ, "SOUP") + ","
+                               + menuJson(MONDAY.plusDays(1), AgeGroupEnum.ГОЛЕМИ, "Bob") + ","
+                               + menuJson(EXISTING, AgeGroupEnum.ГОЛЕМИ, "SOUP") + ","
+                               + menuJson(MONDAY, AgeGroupEnum.ГОЛЕМИ, "Supichka") + "]")
+                       .with(csrf()))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.imported", is(0)))
+               .andExpect(jsonPath("$.errors", contains(startsWith("Ред 2: непознато ястие Bob"),
+                                                        startsWith("Ред 3: вече има меню"),
+                                                        startsWith("Ред 4: менюто за"))));
+
+        Assertions.assertEquals(1, testDataUtil.countMenus());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testImportMenusCsvMustSkipHeader() throws Exception {
+        String csv = "date,ageGroup,soup,main,dessert\r\n"
+                + MONDAY + ",ГОЛЕМИ,SOUP,MAIN,SWEET\r\n"
+                + MONDAY.plusDays(1) + ",ГОЛЕМИ,\"Supichka\",Prase,Sladko\r\n";
+
+        mockMvc.perform(post("/api/admin/menus/import")
+                       .contentType("text/csv")
+                       .content(csv)
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.imported", is(2)));
+
+        Assertions.assertEquals(3, testDataUtil.countMenus());
+    }
+
+    @Test
+    @WithMockUser(username = "user", authorities = "ROLE_USER")
+    void testImportMenusMustBeForbiddenForUsers() throws Exception {
+        mockMvc.perform(post("/api/admin/menus/import")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("[]")
+                       .with(csrf()))
+               .andExpect(status().isForbidden());
+    }
+
+    private static String menuJson(LocalDate date, AgeGroupEnum ageGroup, String soup) {
+        return String.format("{\"date\":\"%s\",\"ageGroup\":\"%s\",\"soup\":\"%s\",\"main\":\"MAIN\",\"dessert\":\"SWEET\"}", date, ageGroup, soup);
+    }
+}
@@ -107,6 +107,7 @@ public class OrderControllerIT {
 
         mockMvc.perform(delete("/admin/add-delete-order")
                        .param("deleteOrderDate", LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5).toString())
+                .param("childId", testDataUtil.getChildIdByName("TestChild2").toString())
                 .param("childName", "TestChild2")
                 .with(csrf())
         )
@@ -123,6 +124,7 @@ public class OrderControllerIT {
 
         mockMvc.perform(delete("/admin/add-delete-order")
                        .param("deleteOrderDate", LocalDate.now().plusDays(2).toString())
+                       .param("childId", testDataUtil.getChildIdByName("TestChild").toString())
                        .param("childName", "TestChild")
                        .with(csrf())
                )
@@ -0,0 +1,363 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.model.entity.OrderEntity;
+import bg.softuni.childrenkitchen.repository.OrderRepository;
+import bg.softuni.childrenkitchen.service.interfaces.PointCapacityService;
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OrderRestControllerIT {
+    private static final String ADMIN_MAIL = "admin@test.com";
+    private static final String NOT_ADMIN_MAIL = "user@test.bg";
+
+    private static final LocalDate ORDERED_DATE = LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5);
+    private static final LocalDate MONDAY = LocalDate.now().with(DayOfWeek.MONDAY).plusWeeks(2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PointCapacityService pointCapacityService;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.initAllergens();
+        testDataUtil.initFood();
+        testDataUtil.initMenus();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        testDataUtil.cleanUpDateBase();
+    }
+
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testMakeOrdersMustOrderAllFreeDatesInOneCall() throws Exception {
+        testDataUtil.buyCouponsByUser();
+        testDataUtil.buyCouponsByUser();
+
+        mockMvc.perform(post("/api/e-kitchen/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(batchJson("TestChild2", MONDAY, MONDAY.plusDays(1), ORDERED_DATE))
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()", is(2)))
+               .andExpect(jsonPath("$[0].servicePointName", is("9-ти квартал")))
+               .andExpect(jsonPath("$[1].remainingCouponsCount", is(0)));
+
+        mockMvc.perform(get("/api/admin/add-delete-order/allOrders")
+                       .param("childName", "TestChild2")
+                       .param("userEmail", NOT_ADMIN_MAIL))
+               .andExpect(jsonPath("$.length()", is(3)));
+    }
+
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testMakeOrdersWithoutEnoughCouponsMustOrderNothing() throws Exception {
+        testDataUtil.buyCouponsByUser();
+
+        mockMvc.perform(post("/api/e-kitchen/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(batchJson("TestChild2", MONDAY, MONDAY.plusDays(1)))
+                       .with(csrf()))
+               .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/admin/add-delete-order/allOrders")
+                       .param("childName", "TestChild2")
+                       .param("userEmail", NOT_ADMIN_MAIL))
+               .andExpect(jsonPath("$.length()", is(1)));
+    }
+
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testMakeOrdersForWeekendMustReturnBadRequest() throws Exception {
+        testDataUtil.buyCouponsByUser();
+
+        mockMvc.perform(post("/api/e-kitchen/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(batchJson("TestChild2", MONDAY.minusDays(1)))
+                       .with(csrf()))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testAdminAddOrdersMayOrderTwicePerDay() throws Exception {
+        testDataUtil.buyCouponsByUser();
+
+        mockMvc.perform(post("/api/admin/add-delete-order/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"userEmail\":\"" + NOT_ADMIN_MAIL + "\"," +
+                               "\"childFullName\":\"TestChild2\"," +
+                               "\"servicePoint\":\"9-ти квартал\"," +
+                               "\"dates\":[\"" + ORDERED_DATE + "\"]}")
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()", is(1)))
+               .andExpect(jsonPath("$[0].childNames", is("TestChild2")));
+    }
+
+    @Test
+    void testSecondPrimaryOrderPerDayMustBeRejectedByDatabase() {
+        OrderEntity ordered = orderRepository.findAll().get(0);
+
+        OrderEntity duplicate = new OrderEntity();
+        duplicate.setDate(ordered.getDate());
+        duplicate.setChild(ordered.getChild());
+        duplicate.setUser(ordered.getUser());
+        duplicate.setServicePoint(ordered.getServicePoint());
+        duplicate.setPrimaryOrder(true);
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> orderRepository.saveAndFlush(duplicate));
+
+        duplicate.setId(null);
+        duplicate.setPrimaryOrder(null);
+        orderRepository.saveAndFlush(duplicate);
+
+        Assertions.assertEquals(2, orderRepository.findDatesByChildIdAndDateIn(ordered.getChild().getId(), List.of(ordered.getDate())).size());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testAdminExtraOrderMustNotBePrimary() throws Exception {
+        testDataUtil.buyCouponsByUser();
+        testDataUtil.buyCouponsByUser();
+
+        mockMvc.perform(post("/api/admin/add-delete-order/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"userEmail\":\"" + NOT_ADMIN_MAIL + "\"," +
+                               "\"childFullName\":\"TestChild2\"," +
+                               "\"servicePoint\":\"9-ти квартал\"," +
+                               "\"dates\":[\"" + ORDERED_DATE + "\",\"" + MONDAY + "\"]}")
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()", is(2)));
+
+        Assertions.assertEquals(2, orderRepository.findAll().stream()
+                                                  .filter(o -> Boolean.TRUE.equals(o.getPrimaryOrder()))
+                                                  .count());
+    }
+
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testOrderCalendarMustFollowNewOrders() throws Exception {
+        testDataUtil.buyCouponsByUser();
+        YearMonth month = YearMonth.from(MONDAY);
+        int mondayBit = 1 << (MONDAY.getDayOfMonth() - 1);
+        int orderedBits = YearMonth.from(ORDERED_DATE).equals(month) ? 1 << (ORDERED_DATE.getDayOfMonth() - 1) : 0;
+
+        mockMvc.perform(get("/api/e-kitchen/calendar")
+                       .param("childName", "TestChild2")
+                       .param("month", month.toString()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.month", is(month.toString())))
+               .andExpect(jsonPath("$.daysInMonth", is(month.lengthOfMonth())))
+               .andExpect(jsonPath("$.orderedDays", is(orderedBits)));
+
+        mockMvc.perform(post("/api/e-kitchen/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(batchJson("TestChild2", MONDAY))
+                       .with(csrf()))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/e-kitchen/calendar")
+                       .param("childName", "TestChild2")
+                       .param("month", month.toString()))
+               .andExpect(jsonPath("$.orderedDays", is(orderedBits | mondayBit)));
+    }
+
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testOrderCalendarOfForeignChildMustReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/e-kitchen/calendar")
+                       .param("childName", "TestChild")
+                       .param("month", YearMonth.from(MONDAY).toString()))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testOrderCalendarWithInvalidMonthMustReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/e-kitchen/calendar")
+                       .param("childName", "TestChild2")
+                       .param("month", "2023-13"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testDeleteOrderByChildIdMustReturnReleasedCoupon() throws Exception {
+        Long childId = testDataUtil.getChildIdByName("TestChild2");
+
+        mockMvc.perform(delete("/api/admin/add-delete-order/children/{childId}/orders/{date}", childId, ORDERED_DATE)
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", notNullValue()));
+
+        Assertions.assertEquals(0, testDataUtil.countOrders());
+        Assertions.assertEquals(0, testDataUtil.countVerifiedCoupons());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testDeleteMissingOrderByChildIdMustReturnNotFound() throws Exception {
+        Long childId = testDataUtil.getChildIdByName("TestChild");
+
+        mockMvc.perform(delete("/api/admin/add-delete-order/children/{childId}/orders/{date}", childId, ORDERED_DATE)
+                       .with(csrf()))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testClosePointMustCancelOnlyItsOrdersAndReleaseCoupons() throws Exception {
+        mockMvc.perform(post("/api/admin/add-delete-order/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"userEmail\":\"" + ADMIN_MAIL + "\"," +
+                               "\"childFullName\":\"TestChild\"," +
+                               "\"servicePoint\":\"Детска кухня\"," +
+                               "\"dates\":[\"" + ORDERED_DATE + "\"]}")
+                       .with(csrf()))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/admin/points/close")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"servicePoint\":\"9-ти квартал\"," +
+                               "\"dates\":[\"" + ORDERED_DATE + "\",\"" + ORDERED_DATE.plusDays(1) + "\"]}")
+                       .with(csrf()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.cancelledOrders", is(1)))
+               .andExpect(jsonPath("$.releasedCoupons", is(1)))
+               .andExpect(jsonPath("$.affectedChildren", is(1)))
+               .andExpect(jsonPath("$.dates.length()", is(2)));
+
+        Assertions.assertEquals(1, testDataUtil.countOrders());
+        Assertions.assertEquals(1, testDataUtil.countVerifiedCoupons());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testCloseUnknownPointMustReturnNotFound() throws Exception {
+        mockMvc.perform(post("/api/admin/points/close")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"servicePoint\":\"Няма такава\",\"dates\":[\"" + ORDERED_DATE + "\"]}")
+                       .with(csrf()))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testOrdersOverPointCapacityMustBeRejected() throws Exception {
+        testDataUtil.buyCouponsByUser();
+        testDataUtil.buyCouponsByUser();
+
+        mockMvc.perform(put("/api/admin/points/capacity")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"servicePoint\":\"9-ти квартал\",\"dailyCapacity\":1}")
+                       .with(csrf()))
+               .andExpect(status().isNoContent());
+
+        pointCapacityService.reconcile();
+
+        mockMvc.perform(post("/api/admin/add-delete-order/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(adminBatchJson(ORDERED_DATE))
+                       .with(csrf()))
+               .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/admin/add-delete-order/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(adminBatchJson(MONDAY))
+                       .with(csrf()))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/admin/add-delete-order/orders")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(adminBatchJson(MONDAY))
+                       .with(csrf()))
+               .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testCapacityOfUnknownPointMustReturnNotFound() throws Exception {
+        mockMvc.perform(put("/api/admin/points/capacity")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"servicePoint\":\"Няма такава\",\"dailyCapacity\":1}")
+                       .with(csrf()))
+               .andExpect(status().isNotFound());
+    }
+
+    private static String adminBatchJson(LocalDate date) {
+        return "{\"userEmail\":\"" + NOT_ADMIN_MAIL + "\"," +
+                "\"childFullName\":\"TestChild2\"," +
+                "\"servicePoint\":\"9-ти квартал\"," +
+                "\"dates\":[\"" + date + "\"]}";
+    }
+
+    private static String batchJson(String childName, LocalDate... dates) {
+        StringBuilder json = new StringBuilder("{\"childName\":\"" + childName + "\",\"dates\":[");
+
+        for (int i = 0; i < dates.length; i++) {
+            json.append(i == 0 ? "" : ",").append('"').append(dates[i]).append('"');
+        }
+
+        return json.append("]}").toString();
+    }
+}
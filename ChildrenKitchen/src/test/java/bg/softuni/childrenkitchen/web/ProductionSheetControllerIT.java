@@ -0,0 +1,119 @@
+package bg.softuni.childrenkitchen.web;
+
+import bg.softuni.childrenkitchen.service.interfaces.OrderService;
+import bg.softuni.childrenkitchen.util.TestDataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ProductionSheetControllerIT {
+    private static final String ADMIN_MAIL = "admin@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestDataUtil testDataUtil;
+
+    @Autowired
+    private OrderService orderService;
+
+    @BeforeEach
+    public void setup() {
+        testDataUtil.initRoles();
+        testDataUtil.initPoints();
+        testDataUtil.initUsers();
+        testDataUtil.initAllergy();
+        testDataUtil.initChild();
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.initAllergens();
+        testDataUtil.initFood();
+        testDataUtil.initMenus();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        testDataUtil.cleanUpDateBase();
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetProductionSheetMustReturnPrintableView() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/production-sheet"))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(view().name("production-sheet"))
+               .andExpect(model().attributeExists("productionSheet"));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetProductionSheetMustCountPortionsPerDishAndPoint() throws Exception {
+        LocalDate orderDate = LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5);
+        testDataUtil.initMenuForDate(orderDate);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/production-sheet")
+                                              .param("date", orderDate.toString()))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(jsonPath("$.points.length()", is(1)))
+               .andExpect(jsonPath("$.dishes.length()", is(3)))
+               .andExpect(jsonPath("$.dishes[0].name", is("Supichka")))
+               .andExpect(jsonPath("$.dishes[0].portionsByPoint['9-ти квартал']", is(1)))
+               .andExpect(jsonPath("$.dishes[2].name", is("Sladko")))
+               .andExpect(jsonPath("$.dishes[2].totalPortions", is(1)))
+               .andExpect(jsonPath("$.forecasts[?(@.servicePoint == '9-ти квартал')].orderedPortions").value(1));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetProductionSheetWithoutMenuMustShowMissingMenu() throws Exception {
+        LocalDate orderDate = LocalDate.now().with(DayOfWeek.FRIDAY).plusDays(5);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/production-sheet")
+                                              .param("date", orderDate.toString()))
+               .andExpect(MockMvcResultMatchers.status().isOk())
+               .andExpect(jsonPath("$.dishes.length()", is(3)))
+               .andExpect(jsonPath("$.dishes[0].name", is("Няма въведено меню (ГОЛЕМИ)")));
+    }
+
+    @Test
+    @WithUserDetails(value = ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testCachedProductionSheetMustBeEvictedOnNewOrder() throws Exception {
+        LocalDate today = LocalDate.now();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/production-sheet")
+                                              .param("date", today.toString()))
+               .andExpect(jsonPath("$.closedForOrders", is(true)))
+               .andExpect(jsonPath("$.dishes.length()", is(0)));
+
+        orderService.makeOrder(today, "Детска кухня", ADMIN_MAIL, "TestChild", ADMIN_MAIL);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/production-sheet")
+                                              .param("date", today.toString()))
+               .andExpect(jsonPath("$.dishes.length()", is(3)))
+               .andExpect(jsonPath("$.dishes[0].portionsByPoint['Детска кухня']", is(1)));
+    }
+}
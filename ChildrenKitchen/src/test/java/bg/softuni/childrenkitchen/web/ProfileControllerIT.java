@@ -32,6 +32,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -110,6 +111,21 @@ public class ProfileControllerIT {
         ;
     }
 
+    @Test
+    @WithUserDetails(value = NOT_ADMIN_MAIL,
+            userDetailsServiceBeanName = "testUserDataService")
+    void testGetProfileMustContainActiveOrdersWithRemainingCoupons() throws Exception {
+        testDataUtil.initCoupons();
+        testDataUtil.initOrders();
+        testDataUtil.buyCouponsByUser();
+
+        mockMvc.perform(get("/users/profile"))
+               .andExpect(status().is2xxSuccessful())
+               .andExpect(model().attribute("lastOrders", hasSize(1)))
+               .andExpect(model().attribute("lastOrders", hasItem(hasProperty("remainingCouponsCount", is(1)))))
+               .andExpect(model().attribute("lastOrders", hasItem(hasProperty("servicePointName", is("9-ти квартал")))));
+    }
+
     @Test
     @WithUserDetails(value = NOT_ADMIN_MAIL,
             userDetailsServiceBeanName = "testUserDataService")